@@ -0,0 +1,60 @@
+package benchmarks;
+
+import functions.Function;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+import functions.basic.Log;
+import functions.basic.Sin;
+import functions.basic.Tan;
+
+// Адаптивное табулирование против равномерного: сколько узлов нужно равномерной сетке,
+// чтобы на контрольной сетке достичь той же погрешности линейной интерполяции
+public class AdaptiveTabulationBenchmark {
+    private static final double MAX_ERROR = 1e-4;
+    private static final int CHECK_POINTS = 1_000_000;
+
+    public static void main(String[] args) {
+        run("Log на [1e-4, 10]", new Log(Math.E), 1e-4, 10);
+        run("Tan на [-1.5, 1.5]", new Tan(), -1.5, 1.5);
+        run("Sin на [0, 100]", new Sin(), 0, 100);
+    }
+
+    private static void run(String name, Function function, double left, double right) {
+        TabulatedFunction adaptive = TabulatedFunctions.tabulateAdaptive(function, left, right, MAX_ERROR);
+        double adaptiveError = maxError(function, adaptive, left, right);
+
+        // Удваиваем число узлов, пока равномерная сетка не станет не хуже адаптивной
+        int points = 33;
+        TabulatedFunction uniform = TabulatedFunctions.tabulate(function, left, right, points);
+        while (maxError(function, uniform, left, right) > Math.max(adaptiveError, MAX_ERROR) && points < (1 << 26)) {
+            points = 2 * (points - 1) + 1;
+            uniform = TabulatedFunctions.tabulate(function, left, right, points);
+        }
+        double uniformError = maxError(function, uniform, left, right);
+
+        System.out.printf("%s: адаптивно %d узлов (%.1f КБ), погрешность %.3e; равномерно %d узлов (%.1f КБ), погрешность %.3e\n",
+                name, adaptive.getPointsCount(), adaptive.getPointsCount() * 16 / 1024.0, adaptiveError,
+                uniform.getPointsCount(), uniform.getPointsCount() * 16 / 1024.0, uniformError);
+        int uniformPoints = points;
+        Bench.measure(name + ": tabulateAdaptive", 3, 10,
+                () -> TabulatedFunctions.tabulateAdaptive(function, left, right, MAX_ERROR).getPointsCount());
+        Bench.measure(name + ": tabulate", 3, 10,
+                () -> TabulatedFunctions.tabulate(function, left, right, uniformPoints).getPointsCount());
+    }
+
+    private static double maxError(Function function, TabulatedFunction table, double left, double right) {
+        double[] xs = new double[CHECK_POINTS];
+        for (int i = 0; i < CHECK_POINTS; i++) {
+            xs[i] = left + (right - left) * i / (CHECK_POINTS - 1);
+        }
+        double[] expected = new double[CHECK_POINTS];
+        double[] actual = new double[CHECK_POINTS];
+        function.evaluate(xs, expected);
+        table.evaluate(xs, actual);
+        double error = 0;
+        for (int i = 0; i < CHECK_POINTS; i++) {
+            error = Math.max(error, Math.abs(expected[i] - actual[i]));
+        }
+        return error;
+    }
+}
@@ -0,0 +1,49 @@
+package benchmarks;
+
+import java.util.function.DoubleSupplier;
+
+// Минимальный аналог JMH: прогрев, серия замеров, среднее и разброс.
+// Результат каждого вызова накапливается в sink, чтобы JIT не выбросил вычисления
+public final class Bench {
+    private static volatile double sink;
+
+    private Bench() {
+        throw new AssertionError("Невозможно создать экземпляр класса Bench");
+    }
+
+    // Замер операции: возвращает среднее время одного вызова в наносекундах
+    public static double measure(String name, int warmupIterations, int iterations, DoubleSupplier operation) {
+        double accumulator = 0.0;
+        for (int i = 0; i < warmupIterations; i++) {
+            accumulator += operation.getAsDouble();
+        }
+
+        double[] times = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            accumulator += operation.getAsDouble();
+            times[i] = System.nanoTime() - start;
+        }
+        sink += accumulator;
+
+        double mean = 0.0;
+        for (double time : times) {
+            mean += time;
+        }
+        mean /= iterations;
+        double variance = 0.0;
+        for (double time : times) {
+            variance += (time - mean) * (time - mean);
+        }
+        double deviation = iterations > 1 ? Math.sqrt(variance / (iterations - 1)) : 0.0;
+
+        System.out.printf("%-45s %12.3f ms/op  ± %8.3f   %10.2f ops/s\n",
+                name, mean / 1e6, deviation / 1e6, 1e9 / mean);
+        return mean;
+    }
+
+    // Не даёт JIT считать значение неиспользуемым
+    public static void consume(double value) {
+        sink += value;
+    }
+}
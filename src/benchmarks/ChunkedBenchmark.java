@@ -0,0 +1,65 @@
+package benchmarks;
+
+import functions.ArrayTabulatedFunction;
+import functions.ChunkedTabulatedFunction;
+import functions.FunctionPoint;
+import functions.InappropriateFunctionPointException;
+import functions.PrimitiveArrayTabulatedFunction;
+import functions.TabulatedFunction;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+// Вставка точек в табулированные функции разных реализаций:
+// по одной точке в случайном порядке и упорядоченным пакетом (addPoints)
+public class ChunkedBenchmark {
+    private static final int INSERTS = 20_000;
+
+    public static void main(String[] args) {
+        // Точки с X из (0, 1), перемешанные случайно
+        FunctionPoint[] shuffled = new FunctionPoint[INSERTS];
+        for (int i = 0; i < INSERTS; i++) {
+            shuffled[i] = new FunctionPoint((i + 1.0) / (INSERTS + 1), Math.sin(i));
+        }
+        Random random = new Random(3);
+        for (int i = INSERTS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            FunctionPoint t = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = t;
+        }
+
+        measureInserts("ArrayTabulatedFunction", () -> new ArrayTabulatedFunction(-1, 2, 2), shuffled);
+        measureInserts("PrimitiveArrayTabulatedFunction", () -> new PrimitiveArrayTabulatedFunction(-1, 2, 2), shuffled);
+        measureInserts("ChunkedTabulatedFunction", () -> new ChunkedTabulatedFunction(-1, 2, 2), shuffled);
+
+        // Упорядоченный пакет той же величины вливается в функцию из 1 млн точек
+        FunctionPoint[] batch = new FunctionPoint[INSERTS];
+        for (int i = 0; i < INSERTS; i++) {
+            batch[i] = new FunctionPoint(i + 0.5, 1.0);
+        }
+        Bench.measure("ChunkedTabulatedFunction.addPoints, 1 млн + 20 тыс.", 3, 10, () -> {
+            ChunkedTabulatedFunction function = new ChunkedTabulatedFunction(0, 1_000_000, 1_000_001);
+            try {
+                function.addPoints(batch);
+            } catch (InappropriateFunctionPointException e) {
+                throw new IllegalStateException(e);
+            }
+            return function.getPointsCount();
+        });
+    }
+
+    private static void measureInserts(String name, Supplier<TabulatedFunction> factory, FunctionPoint[] points) {
+        Bench.measure(name + ".addPoint, 20 тыс. вставок", 2, 5, () -> {
+            TabulatedFunction function = factory.get();
+            try {
+                for (FunctionPoint point : points) {
+                    function.addPoint(point);
+                }
+            } catch (InappropriateFunctionPointException e) {
+                throw new IllegalStateException(e);
+            }
+            return function.getFunctionValue(0.5);
+        });
+    }
+}
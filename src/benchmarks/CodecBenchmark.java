@@ -0,0 +1,105 @@
+package benchmarks;
+
+import functions.FunctionPoint;
+import functions.PrimitiveArrayTabulatedFunction;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Двоичный ввод-вывод табулированной функции: поэлементный DataInputStream/DataOutputStream
+// с массивом FunctionPoint (как было раньше) против блочного кодека TabulatedFunctions.
+// Аргумент - количество точек (по умолчанию 10 млн; для 50 млн нужен -Xmx3g)
+public class CodecBenchmark {
+    public static void main(String[] args) throws IOException {
+        int pointsCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = i * 1e-3;
+            yValues[i] = Math.sin(xValues[i]);
+        }
+        TabulatedFunction function = new PrimitiveArrayTabulatedFunction(xValues, yValues);
+        TabulatedFunctions.setTabulatedFunctionFactory(new PrimitiveArrayTabulatedFunction.PrimitiveArrayTabulatedFunctionFactory());
+
+        Path file = Files.createTempFile("tabulated", ".bin");
+        double megabytes = (Integer.BYTES + 16.0 * pointsCount) / (1 << 20);
+        try {
+            report(megabytes, Bench.measure("Запись: DataOutputStream", 1, 3, () -> {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                    out.writeInt(function.getPointsCount());
+                    for (int i = 0; i < function.getPointsCount(); i++) {
+                        out.writeDouble(function.getPointX(i));
+                        out.writeDouble(function.getPointY(i));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return 0;
+            }));
+            report(megabytes, Bench.measure("Запись: поток, блоками", 1, 3, () -> {
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    TabulatedFunctions.outputTabulatedFunction(function, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return 0;
+            }));
+            report(megabytes, Bench.measure("Запись: FileChannel, direct-буфер", 1, 3, () -> {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    TabulatedFunctions.outputTabulatedFunction(function, channel, true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return 0;
+            }));
+
+            report(megabytes, Bench.measure("Чтение: DataInputStream + FunctionPoint[]", 1, 3, () -> {
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                    FunctionPoint[] points = new FunctionPoint[in.readInt()];
+                    for (int i = 0; i < points.length; i++) {
+                        double x = in.readDouble();
+                        double y = in.readDouble();
+                        points[i] = new FunctionPoint(x, y);
+                    }
+                    return TabulatedFunctions.createTabulatedFunction(points).getPointsCount();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            report(megabytes, Bench.measure("Чтение: поток, блоками", 1, 3, () -> {
+                try (InputStream in = Files.newInputStream(file)) {
+                    return TabulatedFunctions.inputTabulatedFunction(in).getPointsCount();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            for (boolean direct : new boolean[] {false, true}) {
+                report(megabytes, Bench.measure("Чтение: FileChannel, " + (direct ? "direct-буфер" : "буфер в куче"), 1, 3, () -> {
+                    try (FileChannel channel = FileChannel.open(file)) {
+                        return TabulatedFunctions.inputTabulatedFunction(channel, direct).getPointsCount();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void report(double megabytes, double nanos) {
+        System.out.printf("%45s %12.1f МБ/с%n", "", megabytes / (nanos / 1e9));
+    }
+}
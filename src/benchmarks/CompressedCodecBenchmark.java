@@ -0,0 +1,62 @@
+package benchmarks;
+
+import functions.PrimitiveArrayTabulatedFunction;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Сжатый поколоночный формат против двоичного формата из пар double: размер файла,
+// запись, чтение целиком и чтение отрезка в 1% области определения.
+// Функция на равномерной сетке, Y - измерения, округлённые до 1e-6.
+// Аргумент - количество точек (по умолчанию 4 млн)
+public class CompressedCodecBenchmark {
+    public static void main(String[] args) throws IOException {
+        int pointsCount = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        double[] values = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            values[i] = Math.round(Math.sin(i * 1e-4) * 1e6) / 1e6;
+        }
+        TabulatedFunction function = new PrimitiveArrayTabulatedFunction(0, 1000, values);
+        TabulatedFunctions.setTabulatedFunctionFactory(new PrimitiveArrayTabulatedFunction.PrimitiveArrayTabulatedFunctionFactory());
+
+        Path raw = Files.createTempFile("tabulated", ".bin");
+        Path compressed = Files.createTempFile("tabulated", ".tfc");
+        try {
+            Bench.measure("Запись: пары double", 1, 3, () -> {
+                try (FileChannel channel = FileChannel.open(raw, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    TabulatedFunctions.outputTabulatedFunction(function, channel, false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return 0;
+            });
+            Bench.measure("Запись: сжатый формат", 1, 3, () -> {
+                TabulatedFunctions.outputCompressedTabulatedFunction(function, compressed);
+                return 0;
+            });
+            System.out.printf("Размер: %d байт против %d байт (%.1f%%)%n",
+                    Files.size(compressed), Files.size(raw), 100.0 * Files.size(compressed) / Files.size(raw));
+
+            Bench.measure("Чтение целиком: пары double", 1, 3, () -> {
+                try (FileChannel channel = FileChannel.open(raw)) {
+                    return TabulatedFunctions.inputTabulatedFunction(channel, false).getPointsCount();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            Bench.measure("Чтение целиком: сжатый формат", 1, 3,
+                    () -> TabulatedFunctions.inputCompressedTabulatedFunction(compressed).getPointsCount());
+            Bench.measure("Чтение отрезка [500, 510]: сжатый формат", 3, 20,
+                    () -> TabulatedFunctions.inputCompressedTabulatedFunction(compressed, 500, 510).getPointsCount());
+        } finally {
+            Files.delete(raw);
+            Files.delete(compressed);
+        }
+    }
+}
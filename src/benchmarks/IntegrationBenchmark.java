@@ -0,0 +1,52 @@
+package benchmarks;
+
+import functions.Function;
+import functions.Functions;
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Log;
+import functions.basic.Sin;
+
+import java.util.concurrent.ForkJoinPool;
+
+// Сравнение последовательного и параллельного интегрирования на 1, 2, 4 и 8 потоках
+public class IntegrationBenchmark {
+    public static void main(String[] args) {
+        double a = 1;
+        double b = 1001;
+        double step = 1e-4; // 10 млн сегментов
+
+        Function[] functions = {
+                new Log(Math.E),
+                Functions.sum(Functions.mult(new Sin(), new Cos()), Functions.composition(new Exp(), new Sin()))
+        };
+        String[] names = {"Log", "sin*cos + exp(sin)"};
+
+        for (int f = 0; f < functions.length; f++) {
+            Function function = functions[f];
+            System.out.println("=== " + names[f] + ", [" + a + ", " + b + "], шаг " + step + " ===");
+
+            Bench.measure("последовательно", 3, 5, () -> Functions.integrate(function, a, b, step));
+
+            double reference = Double.NaN;
+            for (int threads : new int[] {1, 2, 4, 8}) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    Bench.measure("ForkJoinPool, потоков: " + threads, 3, 5,
+                            () -> Functions.integrate(function, a, b, step, pool));
+                    double result = Functions.integrate(function, a, b, step, pool);
+                    if (Double.isNaN(reference)) {
+                        reference = result;
+                    }
+                    else if (Double.doubleToLongBits(result) != Double.doubleToLongBits(reference)) {
+                        System.out.println("   Результат зависит от числа потоков: " + result + " != " + reference);
+                    }
+                } finally {
+                    pool.shutdown();
+                }
+            }
+            System.out.println("   Последовательно: " + Functions.integrate(function, a, b, step)
+                    + ", параллельно: " + reference);
+        }
+    }
+}
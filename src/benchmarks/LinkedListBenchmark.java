@@ -0,0 +1,68 @@
+package benchmarks;
+
+import functions.FunctionPoint;
+import functions.InappropriateFunctionPointException;
+import functions.LinkedListTabulatedFunction;
+import functions.TabulatedFunction;
+
+import java.util.Random;
+
+// Вычисление значений LinkedListTabulatedFunction на 100 тыс. узлов:
+// монотонный проход (как при табулировании и интегрировании), случайный доступ
+// и вставка/удаление точек без индекса-списка с пропусками и с ним
+public class LinkedListBenchmark {
+    private static final int NODES = 100_000;
+
+    public static void main(String[] args) {
+        double[] values = new double[NODES];
+        for (int i = 0; i < NODES; i++) {
+            values[i] = Math.sin(i * 1e-3);
+        }
+        TabulatedFunction function = new LinkedListTabulatedFunction(0, NODES - 1, values);
+        double left = function.getLeftDomainBorder();
+        double right = function.getRightDomainBorder();
+
+        int sweepPoints = 1_000_000;
+        Bench.measure("Монотонный проход, 1 млн вызовов", 3, 10, () -> {
+            double sum = 0;
+            double step = (right - left) / (sweepPoints - 1);
+            for (int i = 0; i < sweepPoints; i++) {
+                sum += function.getFunctionValue(left + i * step);
+            }
+            return sum;
+        });
+
+        int randomPoints = 2_000;
+        double[] xs = new double[randomPoints];
+        Random random = new Random(1);
+        for (int i = 0; i < randomPoints; i++) {
+            xs[i] = left + random.nextDouble() * (right - left);
+        }
+        for (boolean indexed : new boolean[] {false, true}) {
+            LinkedListTabulatedFunction list = new LinkedListTabulatedFunction(0, NODES - 1, values);
+            list.setSkipIndexEnabled(indexed);
+            String suffix = indexed ? " (с индексом)" : " (без индекса)";
+
+            Bench.measure("Случайный доступ, 2 тыс. вызовов" + suffix, 3, 10, () -> {
+                double sum = 0;
+                for (double x : xs) {
+                    sum += list.getFunctionValue(x);
+                }
+                return sum;
+            });
+
+            Random edits = new Random(2);
+            Bench.measure("Вставка и удаление, 2 тыс. пар" + suffix, 3, 10, () -> {
+                for (int i = 0; i < randomPoints; i++) {
+                    try {
+                        list.addPoint(new FunctionPoint(left + edits.nextDouble() * (right - left), 0.0));
+                    } catch (InappropriateFunctionPointException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    list.deletePoint(1 + edits.nextInt(list.getPointsCount() - 2));
+                }
+                return list.getPointsCount();
+            });
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package benchmarks;
+
+import functions.ArrayTabulatedFunction;
+import functions.Function;
+import functions.Functions;
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Sin;
+
+// Глубокие деревья комбинаторов до и после Functions.compile: поточечные вызовы getFunctionValue
+// и пакетное вычисление массива. Исходные узлы на каждом вызове проверяют область определения,
+// а её границы вычисляются рекурсивно через всё поддерево
+public class MetaCompilerBenchmark {
+    private static final int CALLS = 200_000;
+    private static final int BATCH = 1_000_000;
+
+    public static void main(String[] args) {
+        double[] values = new double[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.sin(i * 0.01);
+        }
+        Function chain = new ArrayTabulatedFunction(-100, 100, values);
+        for (int i = 0; i < 24; i++) {
+            chain = i % 2 == 0 ? Functions.shift(chain, 0.25, 1.0) : Functions.scale(chain, 1.01, 0.5);
+        }
+        run("Цепочка из 24 Shift/Scale", chain, -50, 50);
+        run("Дерево Sum/Mult/Power из 64 листьев", balancedTree(6), -10, 10);
+
+        Function composition = new Sin();
+        for (int i = 0; i < 8; i++) {
+            composition = Functions.composition(i % 2 == 0 ? new Cos() : Functions.scale(new Exp(), 1.0, 0.5), composition);
+        }
+        run("Композиция глубины 8", composition, -10, 10);
+    }
+
+    private static Function balancedTree(int depth) {
+        if (depth == 0) {
+            return new Sin();
+        }
+        Function left = balancedTree(depth - 1);
+        Function right = Functions.shift(balancedTree(depth - 1), 0.5, 0.0);
+        switch (depth % 3) {
+            case 0:
+                return Functions.sum(left, right);
+            case 1:
+                return Functions.mult(left, right);
+            default:
+                return Functions.power(Functions.sum(left, right), 2);
+        }
+    }
+
+    private static void run(String name, Function function, double left, double right) {
+        Function compiled = Functions.compile(function);
+        double[] xs = new double[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            xs[i] = left + (right - left) * i / (BATCH - 1);
+        }
+        double[] out = new double[BATCH];
+
+        for (Function f : new Function[] {function, compiled}) {
+            String suffix = f == compiled ? " (compile)" : "";
+            Bench.measure(name + suffix + ": точки", 3, 10, () -> {
+                double sum = 0;
+                double step = (right - left) / (CALLS - 1);
+                for (int i = 0; i < CALLS; i++) {
+                    sum += f.getFunctionValue(left + i * step);
+                }
+                return sum;
+            });
+            Bench.measure(name + suffix + ": пакет", 3, 10, () -> {
+                f.evaluate(xs, out);
+                return out[BATCH / 2];
+            });
+        }
+    }
+}
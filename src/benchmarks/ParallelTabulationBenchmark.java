@@ -0,0 +1,33 @@
+package benchmarks;
+
+import functions.Function;
+import functions.Functions;
+import functions.TabulatedFunctions;
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Sin;
+
+import java.util.concurrent.ForkJoinPool;
+
+// Табулирование дорогой составной функции: последовательный tabulate
+// и параллельный в пулах ForkJoinPool разного размера
+public class ParallelTabulationBenchmark {
+    private static final int POINTS = 4_000_000;
+
+    public static void main(String[] args) {
+        Function function = new Sin();
+        for (int i = 0; i < 6; i++) {
+            function = Functions.composition(i % 2 == 0 ? new Cos() : Functions.scale(new Exp(), 1.0, 0.5), function);
+        }
+        Function f = Functions.sum(function, Functions.power(new Sin(), 2));
+
+        System.out.println("Процессоров: " + Runtime.getRuntime().availableProcessors());
+        Bench.measure("tabulate", 2, 5, () -> TabulatedFunctions.tabulate(f, -10, 10, POINTS).getPointY(POINTS / 2));
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            Bench.measure("tabulate, потоков: " + threads, 2, 5,
+                    () -> TabulatedFunctions.tabulate(f, -10, 10, POINTS, pool).getPointY(POINTS / 2));
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package benchmarks;
+
+import threads.Generator;
+import threads.IntegrationPipeline;
+import threads.Integrator;
+import threads.Semaphore;
+import threads.Task;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+// Сравнение пропускной способности: пара Generator/Integrator с одним слотом
+// против конвейера с ограниченной очередью
+public class PipelineBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int legacyTasks = 100;
+        for (double tolerance : new double[] {0, 1e-6}) {
+            Task task = new Task();
+            task.setTaskCount(legacyTasks);
+            Semaphore semaphore = new Semaphore();
+            Generator generator = new Generator(task, semaphore, tolerance);
+            Integrator integrator = new Integrator(task, semaphore);
+
+            // Построчный вывод Generator/Integrator отключается, чтобы мерить только обработку
+            PrintStream out = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            long start = System.nanoTime();
+            generator.start();
+            integrator.start();
+            generator.join();
+            integrator.join();
+            long elapsed = System.nanoTime() - start;
+            System.setOut(out);
+            System.out.printf("Generator/Integrator, %s: заданий: %d, время: %.3f с, %.1f заданий/с\n",
+                    tolerance > 0 ? "точность " + tolerance : "шаг",
+                    legacyTasks, elapsed / 1e9, legacyTasks / (elapsed / 1e9));
+        }
+
+        int tasks = 200_000;
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int[][] configurations = {{1, 1}, {1, cpus}, {2, 2 * cpus}};
+        for (double tolerance : new double[] {0, 1e-6}) {
+            for (int[] configuration : configurations) {
+                IntegrationPipeline pipeline = new IntegrationPipeline(configuration[0], configuration[1], 1024, tolerance);
+                pipeline.run(tasks / 10); // Прогрев
+                IntegrationPipeline.Statistics statistics = pipeline.run(tasks);
+                System.out.printf("Конвейер %d x %d, %s: %s\n", configuration[0], configuration[1],
+                        tolerance > 0 ? "точность " + tolerance : "шаг", statistics);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package benchmarks;
+
+import functions.ArrayTabulatedFunction;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+
+import java.lang.reflect.Constructor;
+
+// Создание небольших табулированных функций по классу: прямой new, прежний путь
+// (isAssignableFrom, getConstructor и Constructor.newInstance на каждом вызове)
+// и TabulatedFunctions.createTabulatedFunction с кэшированными конструкторами
+public class ReflectiveCreationBenchmark {
+    private static final int CREATIONS = 200_000;
+    private static final int POINTS = 16;
+
+    public static void main(String[] args) {
+        double[] values = new double[POINTS];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.sin(i * 0.1);
+        }
+
+        Bench.measure("new ArrayTabulatedFunction", 5, 20, () -> {
+            double sum = 0;
+            for (int i = 0; i < CREATIONS; i++) {
+                sum += new ArrayTabulatedFunction(0, i + 1, values).getRightDomainBorder();
+            }
+            return sum;
+        });
+        Bench.measure("getConstructor + newInstance", 5, 20, () -> {
+            double sum = 0;
+            for (int i = 0; i < CREATIONS; i++) {
+                sum += createReflectively(ArrayTabulatedFunction.class, 0, i + 1, values).getRightDomainBorder();
+            }
+            return sum;
+        });
+        Bench.measure("createTabulatedFunction(Class, ...)", 5, 20, () -> {
+            double sum = 0;
+            for (int i = 0; i < CREATIONS; i++) {
+                sum += TabulatedFunctions.createTabulatedFunction(ArrayTabulatedFunction.class, 0, i + 1, values)
+                        .getRightDomainBorder();
+            }
+            return sum;
+        });
+    }
+
+    // Прежняя реализация createTabulatedFunction(Class<?>, double, double, double[])
+    private static TabulatedFunction createReflectively(Class<?> clazz, double leftX, double rightX, double[] values) {
+        if (!TabulatedFunction.class.isAssignableFrom(clazz)) {
+            throw new IllegalArgumentException(
+                    "Класс " + clazz.getName() + " не реализует интерфейс TabulatedFunction");
+        }
+        try {
+            Constructor<?> constructor = clazz.getConstructor(double.class, double.class, double[].class);
+            return (TabulatedFunction) constructor.newInstance(leftX, rightX, values);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(
+                    "Класс " + clazz.getName() + " не имеет конструктора (double, double, double[])", e);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(
+                    "Ошибка при создании объекта класса " + clazz.getName(), e);
+        }
+    }
+}
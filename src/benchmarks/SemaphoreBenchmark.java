@@ -0,0 +1,128 @@
+package benchmarks;
+
+import threads.LockFreeSemaphore;
+import threads.Semaphore;
+import threads.TaskSemaphore;
+
+import java.util.function.Supplier;
+
+// Сравнение Semaphore (монитор и notifyAll) и LockFreeSemaphore (атомарные переменные и park/unpark)
+// при многих читателях и одном писателе, а также на передаче заданий генератор -> интегратор
+public class SemaphoreBenchmark {
+    private static final int OPERATIONS_PER_READER = 200_000;
+    private static final int WRITES = 20_000;
+    private static final int HANDOFFS = 50_000;
+
+    // Общие данные, которые защищает блокировка
+    private static double sharedValue;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int readers : new int[] {1, 4, 16, 64}) {
+            System.out.println("=== Читателей: " + readers + ", писатель: 1 ===");
+            contention("Semaphore", Semaphore::new, readers);
+            contention("LockFreeSemaphore", LockFreeSemaphore::new, readers);
+        }
+        System.out.println("=== Передача заданий генератор -> интегратор ===");
+        for (int round = 0; round < 2; round++) {
+            handoff("Semaphore", new Semaphore());
+            handoff("LockFreeSemaphore", new LockFreeSemaphore());
+        }
+    }
+
+    private static void contention(String name, Supplier<TaskSemaphore> factory, int readerCount)
+            throws InterruptedException {
+        TaskSemaphore semaphore = factory.get();
+        Thread[] readers = new Thread[readerCount];
+        for (int r = 0; r < readerCount; r++) {
+            readers[r] = new Thread(() -> {
+                double local = 0;
+                try {
+                    for (int i = 0; i < OPERATIONS_PER_READER; i++) {
+                        semaphore.beginRead();
+                        try {
+                            local += sharedValue;
+                        } finally {
+                            semaphore.endRead();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                Bench.consume(local);
+            });
+        }
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < WRITES; i++) {
+                    semaphore.beginWrite();
+                    try {
+                        sharedValue = i;
+                    } finally {
+                        semaphore.endWrite();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        long start = System.nanoTime();
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        long operations = (long) readerCount * OPERATIONS_PER_READER + WRITES;
+        System.out.printf("%-20s %8.1f мс, %12.0f операций/с\n", name, elapsed / 1e6, operations / (elapsed / 1e9));
+    }
+
+    private static void handoff(String name, TaskSemaphore semaphore) throws InterruptedException {
+        Thread generator = new Thread(() -> {
+            try {
+                for (int i = 0; i < HANDOFFS; i++) {
+                    semaphore.beginWrite();
+                    try {
+                        sharedValue = i;
+                        semaphore.setTaskReady(true);
+                    } finally {
+                        semaphore.endWrite();
+                    }
+                    semaphore.waitForIntegrator();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Thread integrator = new Thread(() -> {
+            double local = 0;
+            try {
+                for (int i = 0; i < HANDOFFS; i++) {
+                    semaphore.waitForGenerator();
+                    semaphore.beginRead();
+                    try {
+                        local += sharedValue;
+                    } finally {
+                        semaphore.endRead();
+                    }
+                    semaphore.setTaskReady(false);
+                    semaphore.signalGenerator();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Bench.consume(local);
+        });
+
+        long start = System.nanoTime();
+        generator.start();
+        integrator.start();
+        generator.join();
+        integrator.join();
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-20s %8.1f мс, %12.0f передач/с\n", name, elapsed / 1e6, HANDOFFS / (elapsed / 1e9));
+    }
+}
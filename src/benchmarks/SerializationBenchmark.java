@@ -0,0 +1,67 @@
+package benchmarks;
+
+import functions.ArrayTabulatedFunction;
+import functions.ChunkedTabulatedFunction;
+import functions.FunctionPoint;
+import functions.LinkedListTabulatedFunction;
+import functions.PrimitiveArrayTabulatedFunction;
+import functions.TabulatedFunction;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+// Сериализация табулированных функций через ObjectOutputStream: размер и время записи с чтением.
+// Прежняя форма ArrayTabulatedFunction (стандартная сериализация массива FunctionPoint с запасом
+// в 5 элементов) воспроизводится записью такого массива напрямую.
+// Аргумент - количество точек (по умолчанию 1 млн)
+public class SerializationBenchmark {
+    public static void main(String[] args) {
+        int pointsCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        FunctionPoint[] points = new FunctionPoint[pointsCount + 5];
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = i * 1e-3 + Math.sin(i) * 1e-4;
+            yValues[i] = Math.sin(xValues[i]);
+            points[i] = new FunctionPoint(xValues[i], yValues[i]);
+        }
+
+        run("Прежняя форма: FunctionPoint[]", points);
+        run("ArrayTabulatedFunction, неравномерная сетка",
+                new ArrayTabulatedFunction(Arrays.copyOf(points, pointsCount)));
+        run("ArrayTabulatedFunction, равномерная сетка", new ArrayTabulatedFunction(0, 1000, yValues));
+        run("PrimitiveArrayTabulatedFunction", new PrimitiveArrayTabulatedFunction(xValues, yValues));
+        run("ChunkedTabulatedFunction", new ChunkedTabulatedFunction(xValues, yValues));
+        run("LinkedListTabulatedFunction", new LinkedListTabulatedFunction(0, 1000, yValues));
+    }
+
+    private static void run(String name, Object value) {
+        byte[] bytes = serialize(value);
+        System.out.printf("%s: %d байт%n", name, bytes.length);
+        Bench.measure(name + ": запись и чтение", 2, 5, () -> {
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialize(value)))) {
+                Object copy = in.readObject();
+                return copy instanceof TabulatedFunction ? ((TabulatedFunction) copy).getPointsCount() : 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
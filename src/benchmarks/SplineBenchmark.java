@@ -0,0 +1,70 @@
+package benchmarks;
+
+import functions.Function;
+import functions.PrimitiveArrayTabulatedFunction;
+import functions.SplineTabulatedFunction;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctionFactory;
+import functions.TabulatedFunctions;
+import functions.basic.Exp;
+import functions.basic.Log;
+import functions.basic.Sin;
+
+// Сколько узлов нужно линейной и сплайновой интерполяции для заданной погрешности
+// на гладких функциях, и скорость поточечного вычисления на таблицах этих размеров
+public class SplineBenchmark {
+    private static final int CHECK_POINTS = 1_000_000;
+    private static final int CALLS = 1_000_000;
+
+    public static void main(String[] args) {
+        TabulatedFunctionFactory linear = new PrimitiveArrayTabulatedFunction.PrimitiveArrayTabulatedFunctionFactory();
+        TabulatedFunctionFactory spline = new SplineTabulatedFunction.SplineTabulatedFunctionFactory();
+        for (double maxError : new double[] {1e-4, 1e-6, 1e-8}) {
+            run("Sin на [0, 20]", new Sin(), 0, 20, maxError, linear, spline);
+            run("Exp на [0, 5]", new Exp(), 0, 5, maxError, linear, spline);
+            run("Log на [0.5, 10]", new Log(Math.E), 0.5, 10, maxError, linear, spline);
+        }
+    }
+
+    private static void run(String name, Function function, double left, double right, double maxError,
+                            TabulatedFunctionFactory linear, TabulatedFunctionFactory spline) {
+        TabulatedFunction linearTable = tabulate(function, left, right, maxError, linear);
+        TabulatedFunction splineTable = tabulate(function, left, right, maxError, spline);
+        System.out.printf("%s, погрешность %.0e: линейная %d узлов, сплайн %d узлов (в %.1f раза меньше)\n",
+                name, maxError, linearTable.getPointsCount(), splineTable.getPointsCount(),
+                (double) linearTable.getPointsCount() / splineTable.getPointsCount());
+        for (TabulatedFunction table : new TabulatedFunction[] {linearTable, splineTable}) {
+            String kind = table == linearTable ? "линейная" : "сплайн";
+            Bench.measure(name + ", " + kind + ": точки", 3, 10, () -> {
+                double sum = 0;
+                double step = (right - left) / (CALLS - 1);
+                for (int i = 0; i < CALLS; i++) {
+                    sum += table.getFunctionValue(left + i * step);
+                }
+                return sum;
+            });
+        }
+    }
+
+    // Наименьшая равномерная таблица вида 2^k + 1 узлов с погрешностью не больше maxError
+    private static TabulatedFunction tabulate(Function function, double left, double right, double maxError,
+                                              TabulatedFunctionFactory factory) {
+        TabulatedFunctions.setTabulatedFunctionFactory(factory);
+        int points = 3;
+        TabulatedFunction table = TabulatedFunctions.tabulate(function, left, right, points);
+        while (maxError(function, table, left, right) > maxError) {
+            points = 2 * (points - 1) + 1;
+            table = TabulatedFunctions.tabulate(function, left, right, points);
+        }
+        return table;
+    }
+
+    private static double maxError(Function function, TabulatedFunction table, double left, double right) {
+        double error = 0;
+        for (int i = 0; i < CHECK_POINTS; i++) {
+            double x = left + (right - left) * i / (CHECK_POINTS - 1);
+            error = Math.max(error, Math.abs(function.getFunctionValue(x) - table.getFunctionValue(x)));
+        }
+        return error;
+    }
+}
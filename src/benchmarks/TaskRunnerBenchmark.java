@@ -0,0 +1,45 @@
+package benchmarks;
+
+import threads.IntegrationTask;
+import threads.IntegrationTaskRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Задержка и пропускная способность исполнителя заданий в режимах платформенных и виртуальных потоков.
+// Каждое задание перед интегрированием ждёт IO_DELAY_MILLIS, имитируя обращение клиента к внешнему сервису
+public class TaskRunnerBenchmark {
+    private static final long IO_DELAY_MILLIS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        Random random = new Random(42);
+        List<IntegrationTask> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(IntegrationTask.random(i, random, 1e-6));
+        }
+
+        int platformThreads = 4 * Runtime.getRuntime().availableProcessors();
+        System.out.println(new IntegrationTaskRunner(IntegrationTaskRunner.Mode.PLATFORM, platformThreads)
+                .run(tasks, TaskRunnerBenchmark::integrateAfterIo) + " (потоков: " + platformThreads + ")");
+
+        if (IntegrationTaskRunner.isVirtualThreadsSupported()) {
+            System.out.println(new IntegrationTaskRunner(IntegrationTaskRunner.Mode.VIRTUAL, 0)
+                    .run(tasks, TaskRunnerBenchmark::integrateAfterIo));
+        }
+        else {
+            System.out.println("VIRTUAL: недоступно в Java " + Runtime.version().feature() + ", требуется Java 21+");
+        }
+    }
+
+    private static double integrateAfterIo(IntegrationTask task) {
+        try {
+            Thread.sleep(IO_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Задание прервано", e);
+        }
+        return task.integrate();
+    }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import functions.FunctionPoint;
+import functions.TabulatedFunctions;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.StringTokenizer;
+
+// Разбор текстового формата табулированной функции: прежний путь (readLine + StringTokenizer
+// + Double.parseDouble + FunctionPoint[]) против потокового разбора readTabulatedFunction.
+// Два набора данных: короткие десятичные числа и полные 17-значные значения Double.toString
+public class TextParserBenchmark {
+    private static final int POINTS = 1_000_000;
+
+    public static void main(String[] args) {
+        StringBuilder shortNumbers = new StringBuilder().append(POINTS);
+        StringBuilder fullNumbers = new StringBuilder().append(POINTS);
+        for (int i = 0; i < POINTS; i++) {
+            shortNumbers.append(' ').append(i / 1000.0).append(' ').append(Math.round(Math.sin(i) * 1e4) / 1e4);
+            fullNumbers.append(' ').append(i * 1e-3 + 1e-9).append(' ').append(Math.sin(i));
+        }
+        measure("короткие числа", shortNumbers.toString());
+        measure("числа Double.toString", fullNumbers.toString());
+    }
+
+    private static void measure(String name, String text) {
+        double megabytes = text.length() / (double) (1 << 20);
+        report(megabytes, Bench.measure("readLine + StringTokenizer, " + name, 2, 5, () -> legacyRead(text)));
+        report(megabytes, Bench.measure("Потоковый разбор, " + name, 2, 5,
+                () -> TabulatedFunctions.readTabulatedFunction(new StringReader(text)).getPointsCount()));
+    }
+
+    private static double legacyRead(String text) {
+        try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
+            StringTokenizer tokenizer = new StringTokenizer(reader.readLine());
+            FunctionPoint[] points = new FunctionPoint[Integer.parseInt(tokenizer.nextToken())];
+            for (int i = 0; i < points.length; i++) {
+                double x = Double.parseDouble(tokenizer.nextToken());
+                double y = Double.parseDouble(tokenizer.nextToken());
+                points[i] = new FunctionPoint(x, y);
+            }
+            return TabulatedFunctions.createTabulatedFunction(points).getPointsCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void report(double megabytes, double nanos) {
+        System.out.printf("%45s %12.1f МБ/с%n", "", megabytes / (nanos / 1e9));
+    }
+}
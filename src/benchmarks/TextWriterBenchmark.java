@@ -0,0 +1,80 @@
+package benchmarks;
+
+import functions.LinkedListTabulatedFunction;
+import functions.PrimitiveArrayTabulatedFunction;
+import functions.TabulatedFunction;
+import functions.TabulatedFunctions;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Текстовая запись табулированной функции: прежний PrintWriter со строкой " " + x на каждое число
+// против записи блоками через forEachPoint - в Writer и напрямую в файл.
+// Аргумент - количество точек (по умолчанию 1 млн)
+public class TextWriterBenchmark {
+    public static void main(String[] args) throws IOException {
+        int pointsCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = i * 1e-3;
+            yValues[i] = Math.sin(xValues[i]);
+        }
+        TabulatedFunction[] functions = {
+                new PrimitiveArrayTabulatedFunction(xValues, yValues),
+                new LinkedListTabulatedFunction(0, (pointsCount - 1) * 1e-3, yValues)
+        };
+
+        Path file = Files.createTempFile("tabulated", ".txt");
+        try {
+            for (TabulatedFunction function : functions) {
+                String name = function.getClass().getSimpleName();
+                TabulatedFunctions.writeTabulatedFunction(function, file);
+                double megabytes = Files.size(file) / (double) (1 << 20);
+
+                report(megabytes, Bench.measure(name + ": PrintWriter", 1, 5, () -> {
+                    try (Writer out = Files.newBufferedWriter(file)) {
+                        legacyWrite(function, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return 0;
+                }));
+                report(megabytes, Bench.measure(name + ": Writer, блоками", 1, 5, () -> {
+                    try (Writer out = Files.newBufferedWriter(file)) {
+                        TabulatedFunctions.writeTabulatedFunction(function, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return 0;
+                }));
+                report(megabytes, Bench.measure(name + ": Path", 1, 5, () -> {
+                    TabulatedFunctions.writeTabulatedFunction(function, file);
+                    return 0;
+                }));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // Прежняя реализация writeTabulatedFunction
+    private static void legacyWrite(TabulatedFunction function, Writer out) {
+        PrintWriter writer = new PrintWriter(new BufferedWriter(out));
+        writer.print(function.getPointsCount());
+        for (int i = 0; i < function.getPointsCount(); i++) {
+            writer.print(" " + function.getPointX(i));
+            writer.print(" " + function.getPointY(i));
+        }
+        writer.flush();
+    }
+
+    private static void report(double megabytes, double nanos) {
+        System.out.printf("%45s %12.1f МБ/с%n", "", megabytes / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,9 @@
+package functions;
+
+// Фабрика функций на примитивных массивах, которая умеет принимать массивы координат во владение.
+// Открытый createTabulatedFunction(double[], double[]) копирует массивы; adoptTabulatedFunction
+// использует их без копирования и вызывается только из TabulatedFunctions для только что
+// созданных массивов (ввод, кодеки, адаптивное табулирование)
+abstract class AdoptingTabulatedFunctionFactory implements TabulatedFunctionFactory {
+    abstract TabulatedFunction adoptTabulatedFunction(double[] xValues, double[] yValues);
+}
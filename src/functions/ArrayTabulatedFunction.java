@@ -1,13 +1,19 @@
 package functions;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.DoubleUnaryOperator;
 
 public class ArrayTabulatedFunction implements TabulatedFunction, Serializable {
     // Поля класса
     private int pointsCount;
-    private FunctionPoint[] points;
+    private transient FunctionPoint[] points;
+    // Признак равномерной сетки (точки не менялись после конструктора с границами)
+    private transient boolean uniformGrid;
+    private transient double gridLeftX;
+    private transient double gridStep;
 
     // Конструкторы
     public ArrayTabulatedFunction(double leftX, double rightX, int pointsCount) {
@@ -25,6 +31,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable {
             double x = leftX + i * step;
             points[i] = new FunctionPoint(x, 0.0);
         }
+        setUniformGrid(leftX, step);
     }
     public ArrayTabulatedFunction(double leftX, double rightX, double[] values) {
         if (leftX >= rightX) {
@@ -41,6 +48,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable {
             double x = leftX + i * step;
             points[i] = new FunctionPoint(x, values[i]);
         }
+        setUniformGrid(leftX, step);
     }
     public ArrayTabulatedFunction(FunctionPoint[] points) {
         if (points.length < 2) {
@@ -75,29 +83,52 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable {
 
         final double EPSILON = 1e-10;
 
-        for (int i = 0; i < pointsCount - 1; i++) {
-            double x1 = points[i].getX();
-            double x2 = points[i + 1].getX();
+        int i = findSegmentIndex(x);
+        double x1 = points[i].getX();
+        double x2 = points[i + 1].getX();
 
-            if (Math.abs(x - x1) < EPSILON) {
-                return points[i].getY();
-            }
-            if (Math.abs(x - x2) < EPSILON) {
-                return points[i + 1].getY();
-            }
-
-            if (x >= x1 && x <= x2) {
-                double y1 = points[i].getY();
-                double y2 = points[i + 1].getY();
-                return y1 + ((y2 - y1) * (x - x1)) / (x2 - x1);
-            }
+        if (Math.abs(x - x1) < EPSILON) {
+            return points[i].getY();
         }
-
-        if (Math.abs(x - points[pointsCount - 1].getX()) < EPSILON) {
-            return points[pointsCount - 1].getY();
+        if (Math.abs(x - x2) < EPSILON) {
+            return points[i + 1].getY();
         }
 
-        return Double.NaN;
+        double y1 = points[i].getY();
+        double y2 = points[i + 1].getY();
+        return y1 + ((y2 - y1) * (x - x1)) / (x2 - x1);
+    }
+    // Поиск сегмента [x(i), x(i+1)], содержащего x (x должен лежать в области определения)
+    private int findSegmentIndex(double x) {
+        int last = pointsCount - 2;
+        int i;
+        if (uniformGrid) {
+            // Равномерная сетка: индекс вычисляется напрямую, затем корректируется на погрешность округления
+            i = (int) ((x - gridLeftX) / gridStep);
+            if (i < 0) i = 0;
+            if (i > last) i = last;
+            while (i > 0 && points[i].getX() > x) i--;
+            while (i < last && points[i + 1].getX() <= x) i++;
+            return i;
+        }
+        // Бинарный поиск последней точки с X <= x
+        int low = 0;
+        int high = last;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (points[mid].getX() <= x) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+    private void setUniformGrid(double leftX, double step) {
+        uniformGrid = true;
+        gridLeftX = leftX;
+        gridStep = step;
     }
     @Override
     public int getPointsCount() {
@@ -124,6 +155,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable {
         }
 
         points[index] = new FunctionPoint(point);
+        uniformGrid = false;
     }
     @Override
     public double getPointX(int index) {
@@ -146,6 +178,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable {
         }
 
         points[index].setX(x);
+        uniformGrid = false;
     }
     @Override
     public double getPointY(int index) {
@@ -173,6 +206,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable {
 
         System.arraycopy(points, index + 1, points, index, pointsCount - index - 1);
         pointsCount--;
+        uniformGrid = false;
     }
     @Override
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
@@ -194,6 +228,139 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Serializable {
         System.arraycopy(points, insertIndex, points, insertIndex + 1, pointsCount - insertIndex);
         points[insertIndex] = new FunctionPoint(point);
         pointsCount++;
+        uniformGrid = false;
+    }
+
+    // Пакетные операции: порядок проверяется один раз, данные сдвигаются одним проходом
+    @Override
+    public void addPoints(FunctionPoint[] newPoints) throws InappropriateFunctionPointException {
+        for (int i = 1; i < newPoints.length; i++) {
+            if (newPoints[i].getX() <= newPoints[i - 1].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+        if (newPoints.length == 0) {
+            return;
+        }
+
+        // Слияние в новый массив; при совпадении X функция остаётся без изменений
+        FunctionPoint[] merged = new FunctionPoint[pointsCount + newPoints.length + 5];
+        int count = 0;
+        int k = 0;
+        for (int i = 0; i < pointsCount; i++) {
+            double x = points[i].getX();
+            while (k < newPoints.length && newPoints[k].getX() < x) {
+                merged[count++] = new FunctionPoint(newPoints[k++]);
+            }
+            if (k < newPoints.length && newPoints[k].getX() == x) {
+                throw new InappropriateFunctionPointException("Точка с х= " + x + " уже существует по индексу " + i);
+            }
+            merged[count++] = points[i];
+        }
+        while (k < newPoints.length) {
+            merged[count++] = new FunctionPoint(newPoints[k++]);
+        }
+
+        points = merged;
+        pointsCount = count;
+        uniformGrid = false;
+    }
+    @Override
+    public void deletePoints(int from, int to) {
+        if (from < 0 || to > pointsCount || from > to) {
+            throw new FunctionPointIndexOutOfBoundsException("Диапазон: [" + from + ", " + to + "), Количество: " + pointsCount);
+        }
+        int remaining = pointsCount - (to - from);
+        if (remaining < 2) {
+            throw new IllegalStateException("Невозможно удалить точки: требуется минимум 2 точки, останется: " + remaining);
+        }
+        if (from == to) {
+            return;
+        }
+
+        System.arraycopy(points, to, points, from, pointsCount - to);
+        Arrays.fill(points, remaining, pointsCount, null);
+        pointsCount = remaining;
+        uniformGrid = false;
+    }
+    @Override
+    public void setPointsY(double[] values) {
+        if (values.length != pointsCount) {
+            throw new IllegalArgumentException("Количество значений " + values.length + " не совпадает с количеством точек " + pointsCount);
+        }
+        for (int i = 0; i < pointsCount; i++) {
+            points[i].setY(values[i]);
+        }
+    }
+    @Override
+    public void transformPointsY(DoubleUnaryOperator operator) {
+        for (int i = 0; i < pointsCount; i++) {
+            points[i].setY(operator.applyAsDouble(points[i].getY()));
+        }
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (int i = 0; i < pointsCount; i++) {
+            consumer.accept(points[i].getX(), points[i].getY());
+        }
+    }
+
+    // Специальные методы для сериализации: вместо объектов FunctionPoint записываются два массива double,
+    // которые ObjectOutputStream передаёт целиком. X равномерной сетки не записываются:
+    // они восстанавливаются по левой границе и шагу, как в конструкторе
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+        out.defaultWriteObject();
+        out.writeBoolean(uniformGrid);
+        if (uniformGrid) {
+            out.writeDouble(gridLeftX);
+            out.writeDouble(gridStep);
+        }
+        else {
+            double[] xs = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                xs[i] = points[i].getX();
+            }
+            out.writeUnshared(xs);
+        }
+        double[] ys = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            ys[i] = points[i].getY();
+        }
+        out.writeUnshared(ys);
+    }
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (pointsCount < 2) {
+            throw new java.io.InvalidObjectException("Некорректное количество точек: " + pointsCount);
+        }
+        boolean uniform = in.readBoolean();
+        double leftX = 0.0;
+        double step = 0.0;
+        double[] xs = null;
+        if (uniform) {
+            leftX = in.readDouble();
+            step = in.readDouble();
+        }
+        else {
+            xs = readValues(in);
+        }
+        double[] ys = readValues(in);
+
+        points = new FunctionPoint[pointsCount + 5];
+        for (int i = 0; i < pointsCount; i++) {
+            points[i] = new FunctionPoint(uniform ? leftX + i * step : xs[i], ys[i]);
+        }
+        if (uniform) {
+            setUniformGrid(leftX, step);
+        }
+    }
+    private double[] readValues(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        Object values = in.readUnshared();
+        if (!(values instanceof double[]) || ((double[]) values).length != pointsCount) {
+            throw new java.io.InvalidObjectException("Некорректный массив координат");
+        }
+        return (double[]) values;
     }
 
     @Override
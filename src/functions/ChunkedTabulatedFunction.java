@@ -0,0 +1,679 @@
+package functions;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleUnaryOperator;
+
+// Табулированная функция для частых вставок: точки хранятся блоками (параллельные массивы
+// double по CHUNK_CAPACITY точек), а каталог блоков хранит первый X каждого блока.
+// Поиск по X - два бинарных поиска (по каталогу и внутри блока), вставка и удаление
+// сдвигают не больше одного блока; переполненный блок делится пополам,
+// опустевшие соседние блоки сливаются
+public class ChunkedTabulatedFunction implements TabulatedFunction, Serializable {
+    // Максимальный размер блока и заполнение блоков при построении
+    private static final int CHUNK_CAPACITY = 1024;
+    private static final int CHUNK_FILL = CHUNK_CAPACITY / 2;
+
+    // Поля класса
+    private transient int pointsCount;
+    private transient int chunkCount;
+    private transient double[][] chunkX;
+    private transient double[][] chunkY;
+    private transient int[] chunkSize;
+    private transient double[] chunkFirstX; // Каталог: первый X каждого блока
+    private transient int[] chunkStart; // Индекс первой точки блока
+    private transient int validStarts; // Количество блоков с актуальным chunkStart
+
+    // Конструкторы
+    public ChunkedTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, new double[checkPointsCount(leftX, rightX, pointsCount)]);
+    }
+    public ChunkedTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой границы: " + leftX + " >= " + rightX);
+        }
+        if (values.length < 2) {
+            throw new IllegalArgumentException("Количество баллов должно быть не менее 2: " + values.length);
+        }
+
+        double[] xs = new double[values.length];
+        double step = (rightX - leftX) / (values.length - 1);
+        for (int i = 0; i < values.length; i++) {
+            xs[i] = leftX + i * step;
+        }
+        load(xs, values, values.length);
+    }
+    public ChunkedTabulatedFunction(FunctionPoint[] points) {
+        if (points.length < 2) {
+            throw new IllegalArgumentException("Требуется как минимум 2 точки");
+        }
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+
+        double[] xs = new double[points.length];
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = points[i].getX();
+            ys[i] = points[i].getY();
+        }
+        load(xs, ys, points.length);
+    }
+    public ChunkedTabulatedFunction(double[] xValues, double[] yValues) {
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("Массивы координат разной длины: " + xValues.length + " и " + yValues.length);
+        }
+        if (xValues.length < 2) {
+            throw new IllegalArgumentException("Требуется как минимум 2 точки");
+        }
+        for (int i = 1; i < xValues.length; i++) {
+            if (xValues[i] <= xValues[i - 1]) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+        // Блоки строятся копированием, исходные массивы не сохраняются
+        load(xValues, yValues, xValues.length);
+    }
+    private static int checkPointsCount(double leftX, double rightX, int pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой границы: " + leftX + " >= " + rightX);
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество баллов должно быть не менее 2: " + pointsCount);
+        }
+        return pointsCount;
+    }
+
+    // Раскладывает упорядоченные точки по блокам, заполненным наполовину
+    private void load(double[] xs, double[] ys, int count) {
+        pointsCount = count;
+        chunkCount = (count + CHUNK_FILL - 1) / CHUNK_FILL;
+        int capacity = chunkCount + 1;
+        chunkX = new double[capacity][];
+        chunkY = new double[capacity][];
+        chunkSize = new int[capacity];
+        chunkFirstX = new double[capacity];
+        chunkStart = new int[capacity];
+        for (int c = 0; c < chunkCount; c++) {
+            int from = c * CHUNK_FILL;
+            int size = Math.min(CHUNK_FILL, count - from);
+            chunkX[c] = Arrays.copyOfRange(xs, from, from + size);
+            chunkY[c] = Arrays.copyOfRange(ys, from, from + size);
+            chunkSize[c] = size;
+            chunkFirstX[c] = xs[from];
+        }
+        validStarts = 0;
+    }
+
+    // Номер последнего блока с первым X <= x (0, если x левее всех)
+    private int chunkOfX(double x) {
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunkFirstX[mid] <= x) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+    // Номер блока, содержащего точку с данным индексом
+    private int chunkOfIndex(int index) {
+        updateChunkStarts();
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunkStart[mid] <= index) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+    // Индексы начала блоков пересчитываются лениво, начиная с первого изменённого блока
+    private void updateChunkStarts() {
+        if (validStarts == chunkCount) {
+            return;
+        }
+        int start = validStarts == 0 ? 0 : chunkStart[validStarts - 1] + chunkSize[validStarts - 1];
+        for (int c = validStarts; c < chunkCount; c++) {
+            chunkStart[c] = start;
+            start += chunkSize[c];
+        }
+        validStarts = chunkCount;
+    }
+    private void invalidateStartsAfter(int chunk) {
+        validStarts = Math.min(validStarts, chunk + 1);
+    }
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+    }
+    private double xAt(int index) {
+        int c = chunkOfIndex(index);
+        return chunkX[c][index - chunkStart[c]];
+    }
+
+    // Освобождает в каталоге место для блока с номером chunk
+    private void insertChunkSlot(int chunk) {
+        if (chunkCount == chunkX.length) {
+            int newCapacity = chunkX.length + (chunkX.length >> 1) + 1;
+            chunkX = Arrays.copyOf(chunkX, newCapacity);
+            chunkY = Arrays.copyOf(chunkY, newCapacity);
+            chunkSize = Arrays.copyOf(chunkSize, newCapacity);
+            chunkFirstX = Arrays.copyOf(chunkFirstX, newCapacity);
+            chunkStart = Arrays.copyOf(chunkStart, newCapacity);
+        }
+        int tail = chunkCount - chunk;
+        System.arraycopy(chunkX, chunk, chunkX, chunk + 1, tail);
+        System.arraycopy(chunkY, chunk, chunkY, chunk + 1, tail);
+        System.arraycopy(chunkSize, chunk, chunkSize, chunk + 1, tail);
+        System.arraycopy(chunkFirstX, chunk, chunkFirstX, chunk + 1, tail);
+        System.arraycopy(chunkStart, chunk, chunkStart, chunk + 1, tail);
+        chunkCount++;
+        invalidateStartsAfter(chunk - 1);
+    }
+    // Удаляет из каталога блоки chunk .. chunk + count - 1
+    private void removeChunkSlots(int chunk, int count) {
+        int tail = chunkCount - chunk - count;
+        System.arraycopy(chunkX, chunk + count, chunkX, chunk, tail);
+        System.arraycopy(chunkY, chunk + count, chunkY, chunk, tail);
+        System.arraycopy(chunkSize, chunk + count, chunkSize, chunk, tail);
+        System.arraycopy(chunkFirstX, chunk + count, chunkFirstX, chunk, tail);
+        System.arraycopy(chunkStart, chunk + count, chunkStart, chunk, tail);
+        Arrays.fill(chunkX, chunkCount - count, chunkCount, null);
+        Arrays.fill(chunkY, chunkCount - count, chunkCount, null);
+        chunkCount -= count;
+        invalidateStartsAfter(chunk - 1);
+    }
+    // Делит полный блок пополам, вторая половина становится блоком chunk + 1
+    private void splitChunk(int chunk) {
+        int size = chunkSize[chunk];
+        int half = size / 2;
+        insertChunkSlot(chunk + 1);
+        chunkX[chunk + 1] = Arrays.copyOfRange(chunkX[chunk], half, half + CHUNK_CAPACITY);
+        chunkY[chunk + 1] = Arrays.copyOfRange(chunkY[chunk], half, half + CHUNK_CAPACITY);
+        chunkSize[chunk + 1] = size - half;
+        chunkFirstX[chunk + 1] = chunkX[chunk][half];
+        chunkSize[chunk] = half;
+    }
+    // Дописывает блок chunk + 1 в конец блока chunk
+    private void mergeChunks(int chunk) {
+        int size = chunkSize[chunk];
+        int nextSize = chunkSize[chunk + 1];
+        ensureChunkCapacity(chunk, size + nextSize);
+        System.arraycopy(chunkX[chunk + 1], 0, chunkX[chunk], size, nextSize);
+        System.arraycopy(chunkY[chunk + 1], 0, chunkY[chunk], size, nextSize);
+        chunkSize[chunk] = size + nextSize;
+        removeChunkSlots(chunk + 1, 1);
+    }
+    // Геометрический рост массивов блока до CHUNK_CAPACITY
+    private void ensureChunkCapacity(int chunk, int capacity) {
+        if (chunkX[chunk].length < capacity) {
+            int newCapacity = Math.min(CHUNK_CAPACITY, Math.max(capacity, 2 * chunkX[chunk].length));
+            chunkX[chunk] = Arrays.copyOf(chunkX[chunk], newCapacity);
+            chunkY[chunk] = Arrays.copyOf(chunkY[chunk], newCapacity);
+        }
+    }
+
+    // Реализация методов
+    @Override
+    public double getLeftDomainBorder() {
+        return chunkFirstX[0];
+    }
+    @Override
+    public double getRightDomainBorder() {
+        int last = chunkCount - 1;
+        return chunkX[last][chunkSize[last] - 1];
+    }
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder())
+            return Double.NaN;
+
+        final double EPSILON = 1e-10;
+
+        // Последняя точка с X <= x: блок по каталогу, затем бинарный поиск внутри блока
+        int c = chunkOfX(x);
+        double[] xs = chunkX[c];
+        double[] ys = chunkY[c];
+        int low = 0;
+        int high = chunkSize[c] - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xs[mid] <= x) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+
+        double x1 = xs[low];
+        double y1 = ys[low];
+        double x2;
+        double y2;
+        if (low < chunkSize[c] - 1) {
+            x2 = xs[low + 1];
+            y2 = ys[low + 1];
+        }
+        else if (c < chunkCount - 1) {
+            // Сегмент продолжается в следующем блоке
+            x2 = chunkFirstX[c + 1];
+            y2 = chunkY[c + 1][0];
+        }
+        else {
+            // x совпадает с правой границей
+            return y1;
+        }
+
+        if (Math.abs(x - x1) < EPSILON) {
+            return y1;
+        }
+        if (Math.abs(x - x2) < EPSILON) {
+            return y2;
+        }
+        return y1 + ((y2 - y1) * (x - x1)) / (x2 - x1);
+    }
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+    @Override
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        int c = chunkOfIndex(index);
+        int j = index - chunkStart[c];
+        return new FunctionPoint(chunkX[c][j], chunkY[c][j]);
+    }
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        setPointX(index, point.getX());
+        setPointY(index, point.getY());
+    }
+    @Override
+    public double getPointX(int index) {
+        checkIndex(index);
+        return xAt(index);
+    }
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        checkIndex(index);
+
+        if (index > 0 && x <= xAt(index - 1)) {
+            throw new InappropriateFunctionPointException("Точка x= " + x + " должно быть больше предыдущей точки x= " + xAt(index - 1));
+        }
+        if (index < pointsCount - 1 && x >= xAt(index + 1)) {
+            throw new InappropriateFunctionPointException("Точка x= " + x + " должно быть меньше следующей точки x= " + xAt(index + 1));
+        }
+
+        int c = chunkOfIndex(index);
+        int j = index - chunkStart[c];
+        chunkX[c][j] = x;
+        if (j == 0) {
+            chunkFirstX[c] = x;
+        }
+    }
+    @Override
+    public double getPointY(int index) {
+        checkIndex(index);
+        int c = chunkOfIndex(index);
+        return chunkY[c][index - chunkStart[c]];
+    }
+    @Override
+    public void setPointY(int index, double y) {
+        checkIndex(index);
+        int c = chunkOfIndex(index);
+        chunkY[c][index - chunkStart[c]] = y;
+    }
+    @Override
+    public void deletePoint(int index) {
+        checkIndex(index);
+
+        if (pointsCount < 3) {
+            throw new IllegalStateException("Невозможно удалить точку: требуется минимум 2 точки, текущая: " + pointsCount);
+        }
+
+        int c = chunkOfIndex(index);
+        int j = index - chunkStart[c];
+        int size = chunkSize[c];
+        System.arraycopy(chunkX[c], j + 1, chunkX[c], j, size - j - 1);
+        System.arraycopy(chunkY[c], j + 1, chunkY[c], j, size - j - 1);
+        chunkSize[c] = --size;
+        pointsCount--;
+        invalidateStartsAfter(c);
+
+        if (size == 0) {
+            removeChunkSlots(c, 1);
+            return;
+        }
+        chunkFirstX[c] = chunkX[c][0];
+        // Сливаем малозаполненные соседние блоки, чтобы каталог не разрастался
+        if (c + 1 < chunkCount && size + chunkSize[c + 1] <= CHUNK_FILL) {
+            mergeChunks(c);
+        }
+        else if (c > 0 && chunkSize[c - 1] + size <= CHUNK_FILL) {
+            mergeChunks(c - 1);
+        }
+    }
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+
+        int c = chunkOfX(x);
+        int insertIndex = Arrays.binarySearch(chunkX[c], 0, chunkSize[c], x);
+        if (insertIndex >= 0) {
+            updateChunkStarts();
+            throw new InappropriateFunctionPointException("Точка с х= " + x + " уже существует по индексу " + (chunkStart[c] + insertIndex));
+        }
+        insertIndex = -insertIndex - 1;
+
+        if (chunkSize[c] == CHUNK_CAPACITY) {
+            splitChunk(c);
+            if (insertIndex > chunkSize[c]) {
+                insertIndex -= chunkSize[c];
+                c++;
+            }
+        }
+        int size = chunkSize[c];
+        ensureChunkCapacity(c, size + 1);
+
+        System.arraycopy(chunkX[c], insertIndex, chunkX[c], insertIndex + 1, size - insertIndex);
+        System.arraycopy(chunkY[c], insertIndex, chunkY[c], insertIndex + 1, size - insertIndex);
+        chunkX[c][insertIndex] = x;
+        chunkY[c][insertIndex] = point.getY();
+        if (insertIndex == 0) {
+            chunkFirstX[c] = x;
+        }
+        chunkSize[c] = size + 1;
+        pointsCount++;
+        invalidateStartsAfter(c);
+    }
+    // Добавление упорядоченного по возрастанию X набора точек за один проход слиянием.
+    // Если хотя бы одна точка совпадает по X с существующей, функция не изменяется
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+        if (points.length == 0) {
+            return;
+        }
+
+        int total = pointsCount + points.length;
+        double[] xs = new double[total];
+        double[] ys = new double[total];
+        int count = 0;
+        int k = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            double[] cx = chunkX[c];
+            double[] cy = chunkY[c];
+            for (int j = 0; j < chunkSize[c]; j++) {
+                while (k < points.length && points[k].getX() < cx[j]) {
+                    xs[count] = points[k].getX();
+                    ys[count++] = points[k++].getY();
+                }
+                if (k < points.length && points[k].getX() == cx[j]) {
+                    throw new InappropriateFunctionPointException("Точка с х= " + cx[j] + " уже существует по индексу " + (count - k));
+                }
+                xs[count] = cx[j];
+                ys[count++] = cy[j];
+            }
+        }
+        while (k < points.length) {
+            xs[count] = points[k].getX();
+            ys[count++] = points[k++].getY();
+        }
+        load(xs, ys, total);
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (int c = 0; c < chunkCount; c++) {
+            double[] xs = chunkX[c];
+            double[] ys = chunkY[c];
+            for (int j = 0; j < chunkSize[c]; j++) {
+                consumer.accept(xs[j], ys[j]);
+            }
+        }
+    }
+    // Диапазон удаляется обрезкой двух крайних блоков и удалением промежуточных из каталога
+    @Override
+    public void deletePoints(int from, int to) {
+        if (from < 0 || to > pointsCount || from > to) {
+            throw new FunctionPointIndexOutOfBoundsException("Диапазон: [" + from + ", " + to + "), Количество: " + pointsCount);
+        }
+        int remaining = pointsCount - (to - from);
+        if (remaining < 2) {
+            throw new IllegalStateException("Невозможно удалить точки: требуется минимум 2 точки, останется: " + remaining);
+        }
+        if (from == to) {
+            return;
+        }
+
+        int first = chunkOfIndex(from);
+        int last = chunkOfIndex(to - 1);
+        int firstOffset = from - chunkStart[first];
+        int lastEnd = to - chunkStart[last];
+        int lastSize = chunkSize[last];
+        // Хвост последнего блока сдвигается к началу: на своё место или в первый блок
+        int target = first == last ? firstOffset : 0;
+        System.arraycopy(chunkX[last], lastEnd, chunkX[last], target, lastSize - lastEnd);
+        System.arraycopy(chunkY[last], lastEnd, chunkY[last], target, lastSize - lastEnd);
+        if (first == last) {
+            chunkSize[first] -= to - from;
+        }
+        else {
+            chunkSize[first] = firstOffset;
+            chunkSize[last] = lastSize - lastEnd;
+            removeChunkSlots(first + 1, last - first - 1);
+        }
+        pointsCount = remaining;
+        invalidateStartsAfter(first);
+
+        // Опустевшие блоки убираются, у остальных обновляется каталог
+        int end = Math.min(chunkCount - 1, first + 1);
+        for (int c = end; c >= first; c--) {
+            if (chunkSize[c] == 0) {
+                removeChunkSlots(c, 1);
+            }
+            else {
+                chunkFirstX[c] = chunkX[c][0];
+            }
+        }
+        int c = Math.min(first, chunkCount - 1);
+        if (c + 1 < chunkCount && chunkSize[c] + chunkSize[c + 1] <= CHUNK_FILL) {
+            mergeChunks(c);
+        }
+    }
+    @Override
+    public void setPointsY(double[] values) {
+        if (values.length != pointsCount) {
+            throw new IllegalArgumentException("Количество значений " + values.length + " не совпадает с количеством точек " + pointsCount);
+        }
+        int offset = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            System.arraycopy(values, offset, chunkY[c], 0, chunkSize[c]);
+            offset += chunkSize[c];
+        }
+    }
+    @Override
+    public void transformPointsY(DoubleUnaryOperator operator) {
+        for (int c = 0; c < chunkCount; c++) {
+            double[] ys = chunkY[c];
+            for (int j = 0; j < chunkSize[c]; j++) {
+                ys[j] = operator.applyAsDouble(ys[j]);
+            }
+        }
+    }
+
+    // Специальные методы для сериализации: сохраняются только точки двумя массивами double
+    // (ObjectOutputStream передаёт их целиком), блоки строятся заново
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+        out.defaultWriteObject();
+        out.writeInt(pointsCount);
+        double[] xs = new double[pointsCount];
+        double[] ys = new double[pointsCount];
+        int index = 0;
+        for (int c = 0; c < chunkCount; c++) {
+            System.arraycopy(chunkX[c], 0, xs, index, chunkSize[c]);
+            System.arraycopy(chunkY[c], 0, ys, index, chunkSize[c]);
+            index += chunkSize[c];
+        }
+        out.writeUnshared(xs);
+        out.writeUnshared(ys);
+    }
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        if (count < 2) {
+            throw new java.io.InvalidObjectException("Некорректное количество точек: " + count);
+        }
+        Object xs = in.readUnshared();
+        Object ys = in.readUnshared();
+        if (!(xs instanceof double[]) || !(ys instanceof double[])
+                || ((double[]) xs).length != count || ((double[]) ys).length != count) {
+            throw new java.io.InvalidObjectException("Некорректный массив координат");
+        }
+        load((double[]) xs, (double[]) ys, count);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int c = 0; c < chunkCount; c++) {
+            for (int j = 0; j < chunkSize[c]; j++) {
+                if (c > 0 || j > 0) {
+                    sb.append(", ");
+                }
+                sb.append("(").append(chunkX[c][j])
+                        .append("; ").append(chunkY[c][j]).append(")");
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction)) return false;
+
+        TabulatedFunction other = (TabulatedFunction) o;
+        if (this.getPointsCount() != other.getPointsCount()) return false;
+
+        // Обход итератором, чтобы не искать каждую точку по индексу
+        Iterator<FunctionPoint> otherPoints = other.iterator();
+        for (int c = 0; c < chunkCount; c++) {
+            for (int j = 0; j < chunkSize[c]; j++) {
+                if (!new FunctionPoint(chunkX[c][j], chunkY[c][j]).equals(otherPoints.next())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    @Override
+    public int hashCode() {
+        int hash = pointsCount; // Начинаем с количества точек
+
+        for (int c = 0; c < chunkCount; c++) {
+            for (int j = 0; j < chunkSize[c]; j++) {
+                // Тот же хэш, что и у FunctionPoint, без создания объекта точки
+                long xBits = Double.doubleToLongBits(chunkX[c][j]);
+                long yBits = Double.doubleToLongBits(chunkY[c][j]);
+                hash ^= (int) (xBits ^ (xBits >>> 32)) ^ (int) (yBits ^ (yBits >>> 32));
+            }
+        }
+
+        return hash;
+    }
+    @Override
+    public Object clone() {
+        try {
+            ChunkedTabulatedFunction cloned = (ChunkedTabulatedFunction) super.clone();
+
+            // Копирование каталога и каждого блока
+            cloned.chunkX = new double[chunkX.length][];
+            cloned.chunkY = new double[chunkY.length][];
+            for (int c = 0; c < chunkCount; c++) {
+                cloned.chunkX[c] = Arrays.copyOf(chunkX[c], chunkSize[c]);
+                cloned.chunkY[c] = Arrays.copyOf(chunkY[c], chunkSize[c]);
+            }
+            cloned.chunkSize = chunkSize.clone();
+            cloned.chunkFirstX = chunkFirstX.clone();
+            cloned.chunkStart = chunkStart.clone();
+
+            return cloned;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Клонирование не поддерживается", e);
+        }
+    }
+
+    @Override
+    public Iterator<FunctionPoint> iterator() {
+        return new Iterator<FunctionPoint>() {
+            private int chunk = 0;
+            private int position = 0;
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < pointsCount;
+            }
+
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Нет следующего элемента");
+                }
+                if (position == chunkSize[chunk]) {
+                    chunk++;
+                    position = 0;
+                }
+                // Возвращаем новую точку, чтобы нельзя было изменить массивы функции
+                FunctionPoint point = new FunctionPoint(chunkX[chunk][position], chunkY[chunk][position]);
+                position++;
+                currentIndex++;
+                return point;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Удаление не поддерживается");
+            }
+        };
+    }
+    // Вложенный класс фабрики
+    public static class ChunkedTabulatedFunctionFactory implements TabulatedFunctionFactory {
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            return new ChunkedTabulatedFunction(leftX, rightX, pointsCount);
+        }
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            return new ChunkedTabulatedFunction(leftX, rightX, values);
+        }
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new ChunkedTabulatedFunction(points);
+        }
+        @Override
+        public TabulatedFunction createTabulatedFunction(double[] xValues, double[] yValues) {
+            return new ChunkedTabulatedFunction(xValues, yValues);
+        }
+    }
+}
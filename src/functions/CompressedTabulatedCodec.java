@@ -0,0 +1,464 @@
+package functions;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+// Сжатый поколоночный формат табулированной функции.
+// Заголовок: MAGIC, количество точек, точек в блоке, вид сетки X, первый и последний X, шаг.
+// Равномерная сетка X не хранится: она восстанавливается как leftX + i * step, так же как
+// в конструкторах по границам, и признаётся равномерной, только если совпадает с этой формулой побитово.
+// Далее идут блоки по BLOCK_POINTS точек: длина блока в байтах, столбец X (только для неравномерной сетки)
+// и столбец Y. Столбцы сжимаются XOR-кодированием (как в Gorilla): значение хранится как XOR
+// с предыдущим без ведущих и завершающих нулей. Каждый блок кодируется независимо.
+// После блоков записываются индекс (первый X и смещение каждого блока) и концевик
+// (смещение индекса, MAGIC), поэтому запись идёт потоком, без хранения всей функции в памяти
+final class CompressedTabulatedCodec {
+    private static final int MAGIC = 0x54464331;
+    private static final int BLOCK_POINTS = 4096;
+    private static final byte UNIFORM_GRID = 0;
+    private static final byte EXPLICIT_GRID = 1;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES + 1 + 3 * Double.BYTES;
+    private static final int INDEX_ENTRY_BYTES = Double.BYTES + Long.BYTES;
+    private static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private CompressedTabulatedCodec() {
+    }
+
+    static void write(TabulatedFunction function, WritableByteChannel out) throws IOException {
+        int pointsCount = function.getPointsCount();
+        double leftX = function.getPointX(0);
+        double rightX = function.getPointX(pointsCount - 1);
+        double step = uniformStep(function);
+        boolean uniform = !Double.isNaN(step);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(pointsCount).putInt(BLOCK_POINTS)
+                .put(uniform ? UNIFORM_GRID : EXPLICIT_GRID)
+                .putDouble(leftX).putDouble(rightX).putDouble(uniform ? step : 0.0)
+                .flip();
+        writeFully(out, header);
+
+        BlockEncoder encoder = new BlockEncoder(out, uniform, blockCount(pointsCount, BLOCK_POINTS));
+        try {
+            function.forEachPoint(encoder);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        encoder.finish();
+    }
+
+    // Читает функцию целиком, включая индекс и концевик, поэтому канал после неё не затрагивается
+    static double[][] read(ReadableByteChannel in) throws IOException {
+        Header header = readHeader(in);
+        int blockCount = blockCount(header.pointsCount, header.blockPoints);
+        double[] xValues = new double[header.pointsCount];
+        double[] yValues = new double[header.pointsCount];
+        byte[] block = new byte[0];
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        for (int b = 0; b < blockCount; b++) {
+            length.clear();
+            readFully(in, length);
+            block = readBlock(in, length.getInt(0), block);
+            decodeBlock(header, new BitReader(block, length.getInt(0)), b, xValues, yValues, b * header.blockPoints);
+        }
+
+        ByteBuffer tail = ByteBuffer.allocate(blockCount * INDEX_ENTRY_BYTES + FOOTER_BYTES);
+        readFully(in, tail);
+        if (tail.getInt(tail.capacity() - Integer.BYTES) != MAGIC) {
+            throw new IOException("Повреждённые данные сжатой табулированной функции");
+        }
+        return new double[][] {xValues, yValues};
+    }
+
+    // Читает только точки, нужные для отрезка [leftX, rightX]: ближайшую точку не правее leftX,
+    // ближайшую точку не левее rightX и всё между ними. Декодируются только блоки, которые их содержат.
+    // Функция должна занимать канал от текущей позиции до конца (концевик ищется в конце канала)
+    static double[][] read(SeekableByteChannel in, double leftX, double rightX) throws IOException {
+        if (leftX > rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть не больше правой границы: " + leftX + " > " + rightX);
+        }
+        long start = in.position();
+        Header header = readHeader(in);
+        if (rightX < header.leftX || leftX > header.rightX) {
+            throw new IllegalArgumentException("Отрезок [" + leftX + ", " + rightX + "] вне области определения ["
+                    + header.leftX + ", " + header.rightX + "]");
+        }
+
+        int blockCount = blockCount(header.pointsCount, header.blockPoints);
+        ByteBuffer footer = ByteBuffer.allocate(FOOTER_BYTES);
+        in.position(in.size() - FOOTER_BYTES);
+        readFully(in, footer);
+        if (footer.getInt(Long.BYTES) != MAGIC) {
+            throw new IOException("Повреждённые данные сжатой табулированной функции");
+        }
+        ByteBuffer index = ByteBuffer.allocate(blockCount * INDEX_ENTRY_BYTES);
+        in.position(start + footer.getLong(0));
+        readFully(in, index);
+        double[] firstX = new double[blockCount];
+        long[] offsets = new long[blockCount];
+        for (int b = 0; b < blockCount; b++) {
+            firstX[b] = index.getDouble(b * INDEX_ENTRY_BYTES);
+            offsets[b] = index.getLong(b * INDEX_ENTRY_BYTES + Double.BYTES);
+        }
+
+        // Первый блок - последний, начинающийся не правее leftX;
+        // последний блок - первый, начинающийся не левее rightX (в нём может быть точка справа от rightX)
+        int firstBlock = Math.max(floorIndex(firstX, leftX), 0);
+        int lastBlock = floorIndex(firstX, rightX);
+        if (lastBlock < 0 || firstX[lastBlock] < rightX) {
+            lastBlock = Math.min(lastBlock + 1, blockCount - 1);
+        }
+        // Последний блок из одной точки читается вместе с предыдущим, чтобы было из чего дополнить отрезок
+        if (firstBlock == lastBlock && (long) firstBlock * header.blockPoints == header.pointsCount - 1) {
+            firstBlock--;
+        }
+
+        int firstPoint = firstBlock * header.blockPoints;
+        int count = Math.min((lastBlock + 1) * header.blockPoints, header.pointsCount) - firstPoint;
+        double[] xValues = new double[count];
+        double[] yValues = new double[count];
+        byte[] block = new byte[0];
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        in.position(start + offsets[firstBlock]);
+        for (int b = firstBlock; b <= lastBlock; b++) {
+            length.clear();
+            readFully(in, length);
+            block = readBlock(in, length.getInt(0), block);
+            decodeBlock(header, new BitReader(block, length.getInt(0)), b, xValues, yValues, b * header.blockPoints - firstPoint);
+        }
+
+        int from = Math.max(floorIndex(xValues, leftX), 0);
+        int to = floorIndex(xValues, rightX);
+        if (to < 0 || xValues[to] < rightX) {
+            to = Math.min(to + 1, count - 1);
+        }
+        // Отрезок из одной точки дополняется соседней, чтобы получилась функция
+        if (from == to) {
+            if (to < count - 1) {
+                to++;
+            }
+            else {
+                from--;
+            }
+        }
+        return new double[][] {Arrays.copyOfRange(xValues, from, to + 1), Arrays.copyOfRange(yValues, from, to + 1)};
+    }
+
+    // Шаг равномерной сетки или NaN, если X не совпадают побитово с leftX + i * step ни для одного
+    // из кандидатов: шаг по границам мог округлиться иначе, чем при построении сетки, поэтому
+    // проверяются и соседние с ним значения
+    private static double uniformStep(TabulatedFunction function) {
+        int pointsCount = function.getPointsCount();
+        double leftX = function.getPointX(0);
+        double step = (function.getPointX(pointsCount - 1) - leftX) / (pointsCount - 1);
+        for (double candidate : new double[] {step, Math.nextDown(step), Math.nextUp(step)}) {
+            GridCheck check = new GridCheck(leftX, candidate);
+            function.forEachPoint(check);
+            if (check.matches) {
+                return candidate;
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static final class GridCheck implements PointConsumer {
+        private final double leftX;
+        private final double step;
+        private int index;
+        private boolean matches = true;
+
+        GridCheck(double leftX, double step) {
+            this.leftX = leftX;
+            this.step = step;
+        }
+
+        @Override
+        public void accept(double x, double y) {
+            if (matches && Double.doubleToLongBits(x) != Double.doubleToLongBits(leftX + index * step)) {
+                matches = false;
+            }
+            index++;
+        }
+    }
+
+    // Собирает точки в блок, кодирует заполненный блок и запоминает его в индексе
+    private static final class BlockEncoder implements PointConsumer {
+        private final WritableByteChannel out;
+        private final boolean uniform;
+        private final double[] xValues = new double[BLOCK_POINTS];
+        private final double[] yValues = new double[BLOCK_POINTS];
+        private final double[] firstX;
+        private final long[] offsets;
+        private final BitWriter bits = new BitWriter();
+        private int size;
+        private int blocks;
+        private long offset = HEADER_BYTES;
+
+        BlockEncoder(WritableByteChannel out, boolean uniform, int blockCount) {
+            this.out = out;
+            this.uniform = uniform;
+            this.firstX = new double[blockCount];
+            this.offsets = new long[blockCount];
+        }
+
+        @Override
+        public void accept(double x, double y) {
+            xValues[size] = x;
+            yValues[size] = y;
+            if (++size == BLOCK_POINTS) {
+                try {
+                    flushBlock();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        void finish() throws IOException {
+            if (size > 0) {
+                flushBlock();
+            }
+            ByteBuffer tail = ByteBuffer.allocate(blocks * INDEX_ENTRY_BYTES + FOOTER_BYTES);
+            for (int b = 0; b < blocks; b++) {
+                tail.putDouble(firstX[b]).putLong(offsets[b]);
+            }
+            tail.putLong(offset).putInt(MAGIC).flip();
+            writeFully(out, tail);
+        }
+
+        private void flushBlock() throws IOException {
+            firstX[blocks] = xValues[0];
+            offsets[blocks] = offset;
+            blocks++;
+
+            // Первые четыре байта - длина блока, заполняется после кодирования
+            bits.reset(Integer.BYTES);
+            if (!uniform) {
+                encodeColumn(bits, xValues, size);
+            }
+            encodeColumn(bits, yValues, size);
+            bits.flush();
+            ByteBuffer buffer = ByteBuffer.wrap(bits.bytes, 0, bits.size);
+            buffer.putInt(0, bits.size - Integer.BYTES);
+            writeFully(out, buffer);
+            offset += bits.size;
+            size = 0;
+        }
+    }
+
+    // Управляющие биты: 0 - значение совпадает с предыдущим;
+    // 10 - значащие биты XOR помещаются в окно предыдущего значения;
+    // 11 - новое окно: 5 бит ведущих нулей, 6 бит длины (минус один), затем значащие биты
+    private static void encodeColumn(BitWriter bits, double[] values, int count) {
+        long previous = Double.doubleToRawLongBits(values[0]);
+        bits.write(previous, 64);
+        int leading = -1;
+        int trailing = 0;
+        for (int i = 1; i < count; i++) {
+            long current = Double.doubleToRawLongBits(values[i]);
+            long xor = current ^ previous;
+            if (xor == 0) {
+                bits.write(0, 1);
+            }
+            else {
+                int currentLeading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                int currentTrailing = Long.numberOfTrailingZeros(xor);
+                if (leading >= 0 && currentLeading >= leading && currentTrailing >= trailing) {
+                    bits.write(0b10, 2);
+                    bits.write(xor >>> trailing, 64 - leading - trailing);
+                }
+                else {
+                    int significant = 64 - currentLeading - currentTrailing;
+                    bits.write(0b11, 2);
+                    bits.write(currentLeading, 5);
+                    bits.write(significant - 1, 6);
+                    bits.write(xor >>> currentTrailing, significant);
+                    leading = currentLeading;
+                    trailing = currentTrailing;
+                }
+            }
+            previous = current;
+        }
+    }
+
+    private static void decodeColumn(BitReader bits, double[] values, int offset, int count) throws IOException {
+        long previous = bits.read(64);
+        values[offset] = Double.longBitsToDouble(previous);
+        int leading = 0;
+        int significant = 0;
+        for (int i = 1; i < count; i++) {
+            if (bits.read(1) != 0) {
+                if (bits.read(1) != 0) {
+                    leading = (int) bits.read(5);
+                    significant = (int) bits.read(6) + 1;
+                }
+                previous ^= bits.read(significant) << (64 - leading - significant);
+            }
+            values[offset + i] = Double.longBitsToDouble(previous);
+        }
+    }
+
+    private static void decodeBlock(Header header, BitReader bits, int blockNumber,
+                                    double[] xValues, double[] yValues, int offset) throws IOException {
+        int first = blockNumber * header.blockPoints;
+        int count = Math.min(header.blockPoints, header.pointsCount - first);
+        if (header.uniform) {
+            for (int i = 0; i < count; i++) {
+                xValues[offset + i] = header.leftX + (first + i) * header.step;
+            }
+        }
+        else {
+            decodeColumn(bits, xValues, offset, count);
+        }
+        decodeColumn(bits, yValues, offset, count);
+    }
+
+    private static final class Header {
+        int pointsCount;
+        int blockPoints;
+        boolean uniform;
+        double leftX;
+        double rightX;
+        double step;
+    }
+
+    private static Header readHeader(ReadableByteChannel in) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(in, buffer);
+        buffer.flip();
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Неверный формат сжатой табулированной функции");
+        }
+        Header header = new Header();
+        header.pointsCount = buffer.getInt();
+        header.blockPoints = buffer.getInt();
+        header.uniform = buffer.get() == UNIFORM_GRID;
+        header.leftX = buffer.getDouble();
+        header.rightX = buffer.getDouble();
+        header.step = buffer.getDouble();
+        if (header.pointsCount < 2) {
+            throw new IOException("Некорректное количество точек: " + header.pointsCount);
+        }
+        if (header.blockPoints < 1) {
+            throw new IOException("Некорректный размер блока: " + header.blockPoints);
+        }
+        return header;
+    }
+
+    private static byte[] readBlock(ReadableByteChannel in, int length, byte[] block) throws IOException {
+        if (length < 0) {
+            throw new IOException("Повреждённые данные сжатой табулированной функции");
+        }
+        if (block.length < length) {
+            block = new byte[length];
+        }
+        readFully(in, ByteBuffer.wrap(block, 0, length));
+        return block;
+    }
+
+    private static int blockCount(int pointsCount, int blockPoints) {
+        return (pointsCount - 1) / blockPoints + 1;
+    }
+
+    // Индекс последнего элемента, не большего value, или -1
+    private static int floorIndex(double[] values, double value) {
+        int low = 0;
+        int high = values.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            }
+            else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    private static void readFully(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                throw new EOFException("Неожиданный конец данных табулированной функции");
+            }
+        }
+    }
+
+    private static void writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    // Запись битов старшими вперёд в растущий массив байт
+    private static final class BitWriter {
+        private byte[] bytes = new byte[1 << 12];
+        private int size;
+        private long accumulator;
+        private int pending;
+
+        void reset(int reserved) {
+            size = reserved;
+            pending = 0;
+        }
+
+        // Записывает младшие count бит value (count от 0 до 64)
+        void write(long value, int count) {
+            if (count > 32) {
+                write(value >>> 32, count - 32);
+                value &= 0xFFFFFFFFL;
+                count = 32;
+            }
+            accumulator = (accumulator << count) | (value & ((1L << count) - 1));
+            pending += count;
+            while (pending >= 8) {
+                pending -= 8;
+                if (size == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+                }
+                bytes[size++] = (byte) (accumulator >>> pending);
+            }
+        }
+
+        void flush() {
+            if (pending > 0) {
+                write(0, 8 - pending);
+            }
+        }
+    }
+
+    private static final class BitReader {
+        private final byte[] bytes;
+        private final int limit;
+        private int position;
+        private long accumulator;
+        private int available;
+
+        BitReader(byte[] bytes, int limit) {
+            this.bytes = bytes;
+            this.limit = limit;
+        }
+
+        long read(int count) throws IOException {
+            if (count > 32) {
+                long high = read(count - 32);
+                return (high << 32) | read(32);
+            }
+            while (available < count) {
+                if (position == limit) {
+                    throw new IOException("Повреждённые данные сжатой табулированной функции");
+                }
+                accumulator = (accumulator << 8) | (bytes[position++] & 0xFF);
+                available += 8;
+            }
+            available -= count;
+            return (accumulator >>> available) & ((1L << count) - 1);
+        }
+    }
+}
@@ -4,4 +4,16 @@ public interface Function {
     double getLeftDomainBorder();
     double getRightDomainBorder();
     double getFunctionValue(double x);
+
+    // Пакетное вычисление: out[i] = f(xs[i]) для всех элементов xs
+    default void evaluate(double[] xs, double[] out) {
+        evaluate(xs, 0, out, 0, xs.length);
+    }
+    // Пакетное вычисление: out[outOffset + i] = f(xs[xsOffset + i]), i = 0..length-1.
+    // Допускается вычисление на месте (xs == out при равных смещениях)
+    default void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] = getFunctionValue(xs[xsOffset + i]);
+        }
+    }
 }
@@ -2,7 +2,38 @@ package functions;
 
 import functions.meta.*;
 
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 public class Functions {
+    // Количество сегментов, значения на концах которых вычисляются одним пакетом
+    private static final int INTEGRATION_BLOCK_SIZE = 1024;
+    // Размер части интервала (в сегментах), которая в параллельном режиме считается одной задачей.
+    // Разбиение зависит только от количества сегментов, поэтому результат не зависит от числа потоков
+    private static final long PARALLEL_CHUNK_SEGMENTS = 1 << 14;
+    // Ограничение на количество подынтервалов адаптивного интегрирования
+    private static final int MAX_ADAPTIVE_INTERVALS = 10000;
+
+    // Узлы и веса квадратуры Гаусса-Кронрода (7 и 15 точек) на отрезке [-1, 1]
+    private static final double[] KRONROD_NODES = {
+            0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245, 0.000000000000000000000000000000000
+    };
+    private static final double[] KRONROD_WEIGHTS = {
+            0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649, 0.209482141084727828012999174891714
+    };
+    // Веса Гаусса для узлов KRONROD_NODES[1], [3], [5], [7]
+    private static final double[] GAUSS_WEIGHTS = {
+            0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975, 0.417959183673469387755102040816327
+    };
+
     private Functions() {
         throw new AssertionError("Невозможно создать экземпляр класса Functions");
     }
@@ -25,6 +56,14 @@ public class Functions {
     public static Function composition(Function f1, Function f2) {
         return new Composition(f1, f2);
     }
+    // Дерево комбинаторов, развёрнутое в одну программу с кэшированными границами (см. CompiledFunction)
+    public static Function compile(Function function) {
+        return CompiledFunction.compile(function);
+    }
+    // Та же программа, переведённая в байт-код скрытого класса (см. GeneratedFunction)
+    public static Function compileToBytecode(Function function) {
+        return GeneratedFunction.generate(function);
+    }
 
     public static double integrate(Function function, double a, double b, double step) {
         if (a > b) {
@@ -40,23 +79,225 @@ public class Functions {
             throw new IllegalArgumentException("Шаг дискретизации должен быть положительным");
         }
 
+        // Узлы строятся так же, как при пошаговом обходе (x(k+1) = min(x(k) + step, b)),
+        // но значения функции вычисляются пакетно, блоками по INTEGRATION_BLOCK_SIZE узлов
+        double[] xs = new double[INTEGRATION_BLOCK_SIZE + 1];
+        double[] ys = new double[INTEGRATION_BLOCK_SIZE + 1];
         double integral = 0.0;
         double x1 = a;
-        double x2;
 
-        // Проходим по всем сегментам
         while (x1 < b) {
-            x2 = Math.min(x1 + step, b);
-            double y1 = function.getFunctionValue(x1);
-            double y2 = function.getFunctionValue(x2);
+            xs[0] = x1;
+            int segments = 0;
+            while (segments < INTEGRATION_BLOCK_SIZE && xs[segments] < b) {
+                xs[segments + 1] = Math.min(xs[segments] + step, b);
+                segments++;
+            }
+            function.evaluate(xs, 0, ys, 0, segments + 1);
 
-            // Площадь трапеции
-            double segmentArea = (y1 + y2) * (x2 - x1) / 2.0;
-            integral += segmentArea;
+            // Площади трапеций суммируются в том же порядке, что и раньше
+            for (int i = 0; i < segments; i++) {
+                double segmentArea = (ys[i] + ys[i + 1]) * (xs[i + 1] - xs[i]) / 2.0;
+                integral += segmentArea;
+            }
 
-            x1 = x2;
+            x1 = xs[segments];
         }
 
         return integral;
     }
-}
\ No newline at end of file
+
+    // Адаптивное интегрирование с заданной точностью (квадратура Гаусса-Кронрода 7-15).
+    // На каждом шаге делится пополам подынтервал с наибольшей оценкой погрешности,
+    // пока суммарная оценка не станет меньше tolerance. Концы интервала не вычисляются,
+    // поэтому особенность на границе (например, Log при x -> 0) не мешает интегрированию
+    public static IntegrationResult integrateAdaptive(Function function, double a, double b, double tolerance) {
+        if (a > b) {
+            throw new IllegalArgumentException("Левая граница не может быть больше правой");
+        }
+
+        // Проверяем границы области определения
+        if (a < function.getLeftDomainBorder() || b > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Интервал интегрирования выходит за границы области определения функции");
+        }
+
+        if (tolerance <= 0) {
+            throw new IllegalArgumentException("Требуемая точность должна быть положительной");
+        }
+
+        if (a == b) {
+            return new IntegrationResult(0.0, 0.0, 0);
+        }
+
+        double[] xs = new double[2 * KRONROD_NODES.length - 1];
+        double[] ys = new double[xs.length];
+        PriorityQueue<double[]> intervals = new PriorityQueue<>((p, q) -> Double.compare(q[3], p[3]));
+
+        // Интервал хранится как {левая граница, правая граница, значение, погрешность}
+        double[] whole = kronrodInterval(function, a, b, xs, ys);
+        intervals.add(whole);
+        double value = whole[2];
+        double error = whole[3];
+        int evaluations = xs.length;
+
+        while (error > tolerance && intervals.size() < MAX_ADAPTIVE_INTERVALS) {
+            double[] worst = intervals.poll();
+            double middle = (worst[0] + worst[1]) / 2;
+            if (middle <= worst[0] || middle >= worst[1]) {
+                // Интервал больше не делится в арифметике double
+                intervals.add(worst);
+                break;
+            }
+            double[] left = kronrodInterval(function, worst[0], middle, xs, ys);
+            double[] right = kronrodInterval(function, middle, worst[1], xs, ys);
+            evaluations += 2 * xs.length;
+
+            value += left[2] + right[2] - worst[2];
+            error += left[3] + right[3] - worst[3];
+            intervals.add(left);
+            intervals.add(right);
+        }
+
+        // Итог пересчитывается заново, чтобы не накапливать ошибку округления разностей
+        value = 0.0;
+        error = 0.0;
+        for (double[] interval : intervals) {
+            value += interval[2];
+            error += interval[3];
+        }
+        return new IntegrationResult(value, error, evaluations);
+    }
+
+    private static double[] kronrodInterval(Function function, double a, double b, double[] xs, double[] ys) {
+        double center = (a + b) / 2;
+        double halfLength = (b - a) / 2;
+        int last = KRONROD_NODES.length - 1;
+
+        // Симметричные узлы: xs[2k] = center - h*t, xs[2k + 1] = center + h*t, центр - последним
+        for (int k = 0; k < last; k++) {
+            double offset = halfLength * KRONROD_NODES[k];
+            xs[2 * k] = center - offset;
+            xs[2 * k + 1] = center + offset;
+        }
+        xs[2 * last] = center;
+        function.evaluate(xs, ys);
+
+        double kronrod = KRONROD_WEIGHTS[last] * ys[2 * last];
+        double gauss = GAUSS_WEIGHTS[GAUSS_WEIGHTS.length - 1] * ys[2 * last];
+        for (int k = 0; k < last; k++) {
+            double pair = ys[2 * k] + ys[2 * k + 1];
+            kronrod += KRONROD_WEIGHTS[k] * pair;
+            if (k % 2 == 1) {
+                gauss += GAUSS_WEIGHTS[k / 2] * pair;
+            }
+        }
+        kronrod *= halfLength;
+        gauss *= halfLength;
+        return new double[] {a, b, kronrod, Math.abs(kronrod - gauss)};
+    }
+
+    // Параллельное интегрирование методом трапеций в пуле ForkJoinPool.
+    // Узлы вычисляются как a + k * step, каждая часть суммируется с компенсацией (алгоритм Ноймайера),
+    // а частичные суммы объединяются в фиксированном порядке, поэтому результат воспроизводим
+    // при любом количестве потоков. Функция должна допускать вызов из нескольких потоков
+    public static double integrate(Function function, double a, double b, double step, ForkJoinPool pool) {
+        if (a > b) {
+            throw new IllegalArgumentException("Левая граница не может быть больше правой");
+        }
+
+        // Проверяем границы области определения
+        if (a < function.getLeftDomainBorder() || b > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Интервал интегрирования выходит за границы области определения функции");
+        }
+
+        if (step <= 0) {
+            throw new IllegalArgumentException("Шаг дискретизации должен быть положительным");
+        }
+
+        long segments = (long) Math.ceil((b - a) / step);
+        if (segments == 0) {
+            return 0.0;
+        }
+        double[] sum = pool.invoke(new IntegrationChunk(function, a, b, step, 0, segments, segments));
+        return sum[0] + sum[1];
+    }
+
+    // Часть интервала [a + from * step, a + to * step]; результат - пара (сумма, компенсация)
+    private static class IntegrationChunk extends RecursiveTask<double[]> {
+        private final Function function;
+        private final double a;
+        private final double b;
+        private final double step;
+        private final long from;
+        private final long to;
+        private final long segments;
+
+        IntegrationChunk(Function function, double a, double b, double step, long from, long to, long segments) {
+            this.function = function;
+            this.a = a;
+            this.b = b;
+            this.step = step;
+            this.from = from;
+            this.to = to;
+            this.segments = segments;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= PARALLEL_CHUNK_SEGMENTS) {
+                return integrateChunk();
+            }
+            // Делим по границе, кратной размеру части, чтобы разбиение было одинаковым всегда
+            long chunks = (to - from + PARALLEL_CHUNK_SEGMENTS - 1) / PARALLEL_CHUNK_SEGMENTS;
+            long middle = from + (chunks / 2) * PARALLEL_CHUNK_SEGMENTS;
+            IntegrationChunk left = new IntegrationChunk(function, a, b, step, from, middle, segments);
+            IntegrationChunk right = new IntegrationChunk(function, a, b, step, middle, to, segments);
+            right.fork();
+            double[] leftSum = left.compute();
+            double[] rightSum = right.join();
+            return addCompensated(leftSum, rightSum);
+        }
+
+        private double node(long k) {
+            return k == segments ? b : Math.min(a + k * step, b);
+        }
+
+        private double[] integrateChunk() {
+            int count = (int) (to - from);
+            double[] xs = new double[count + 1];
+            double[] ys = new double[count + 1];
+            for (int i = 0; i <= count; i++) {
+                xs[i] = node(from + i);
+            }
+            function.evaluate(xs, 0, ys, 0, count + 1);
+
+            // Суммирование Ноймайера
+            double sum = 0.0;
+            double compensation = 0.0;
+            for (int i = 0; i < count; i++) {
+                double segmentArea = (ys[i] + ys[i + 1]) * (xs[i + 1] - xs[i]) / 2.0;
+                double t = sum + segmentArea;
+                if (Math.abs(sum) >= Math.abs(segmentArea)) {
+                    compensation += (sum - t) + segmentArea;
+                }
+                else {
+                    compensation += (segmentArea - t) + sum;
+                }
+                sum = t;
+            }
+            return new double[] {sum, compensation};
+        }
+
+        private static double[] addCompensated(double[] left, double[] right) {
+            double sum = left[0] + right[0];
+            double error;
+            if (Math.abs(left[0]) >= Math.abs(right[0])) {
+                error = (left[0] - sum) + right[0];
+            }
+            else {
+                error = (right[0] - sum) + left[0];
+            }
+            return new double[] {sum, left[1] + right[1] + error};
+        }
+    }
+}
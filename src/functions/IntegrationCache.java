@@ -0,0 +1,261 @@
+package functions;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// Кэш результатов интегрирования методом трапеций.
+// Повторный запрос (та же функция, границы и шаг) берётся из LRU-кэша результатов.
+// Для каждой пары (функция, шаг) хранится таблица префиксных интегралов на сетке
+// origin + k * step, поэтому запрос по подынтервалу уже посчитанного отрезка стоит
+// двух вычислений функции. Ключом служит структурное равенство функций
+// (equals/hashCode классов functions.basic и functions.meta); изменяемые функции,
+// например табулированные, нельзя менять после того, как они попали в кэш
+public class IntegrationCache {
+    private final int maxResults;
+    private final long maxTablePoints;
+
+    private final LinkedHashMap<ResultKey, Double> results;
+    private final LinkedHashMap<TableKey, PrefixTable> tables;
+    private long tablePoints;
+
+    // Статистика
+    private long hits;
+    private long prefixHits;
+    private long misses;
+
+    // maxResults - количество хранимых результатов, maxTablePoints - суммарный размер таблиц в узлах
+    public IntegrationCache(int maxResults, long maxTablePoints) {
+        if (maxResults < 1 || maxTablePoints < 2) {
+            throw new IllegalArgumentException("Размеры кэша должны быть положительными");
+        }
+        this.maxResults = maxResults;
+        this.maxTablePoints = maxTablePoints;
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ResultKey, Double> eldest) {
+                return size() > IntegrationCache.this.maxResults;
+            }
+        };
+        this.tables = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public synchronized double integrate(Function function, double a, double b, double step) {
+        if (a > b) {
+            throw new IllegalArgumentException("Левая граница не может быть больше правой");
+        }
+
+        // Проверяем границы области определения
+        if (a < function.getLeftDomainBorder() || b > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Интервал интегрирования выходит за границы области определения функции");
+        }
+
+        if (step <= 0) {
+            throw new IllegalArgumentException("Шаг дискретизации должен быть положительным");
+        }
+
+        ResultKey resultKey = new ResultKey(function, a, b, step);
+        Double cached = results.get(resultKey);
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+
+        TableKey tableKey = new TableKey(function, step);
+        PrefixTable table = tables.get(tableKey);
+        if (table != null && table.covers(a, b)) {
+            prefixHits++;
+        }
+        else {
+            misses++;
+            // Прежний отрезок объединяется с запрошенным, только если они пересекаются или
+            // соприкасаются; иначе таблица строится заново по одному запрошенному отрезку
+            double left = a;
+            double right = b;
+            if (table != null && a <= table.right && b >= table.origin) {
+                left = Math.min(a, table.origin);
+                right = Math.max(b, table.right);
+            }
+            // Таблица, которая сама не помещается в лимит, не строится: запрос считается напрямую,
+            // прежняя таблица остаётся в кэше
+            if (!fits(left, right, step)) {
+                double value = Functions.integrate(function, a, b, step);
+                results.put(resultKey, value);
+                return value;
+            }
+            if (table != null) {
+                tables.remove(tableKey);
+                tablePoints -= table.size();
+            }
+            table = new PrefixTable(function, left, right, step);
+            evictTables(table.size());
+            tables.put(tableKey, table);
+            tablePoints += table.size();
+        }
+
+        double value = table.integrate(function, a, b);
+        results.put(resultKey, value);
+        return value;
+    }
+
+    // Помещается ли таблица по отрезку [left, right] в лимит кэша и в размер массива
+    private boolean fits(double left, double right, double step) {
+        double segments = Math.ceil((right - left) / step);
+        return segments < PrefixTable.MAX_SEGMENTS && segments + 1 <= maxTablePoints;
+    }
+
+    // Удаляет давно не использованные таблицы, пока новая таблица из points узлов не помещается в лимит
+    private void evictTables(long points) {
+        Iterator<PrefixTable> iterator = tables.values().iterator();
+        while (tablePoints + points > maxTablePoints && iterator.hasNext()) {
+            tablePoints -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+    public synchronized long getPrefixHits() {
+        return prefixHits;
+    }
+    public synchronized long getMisses() {
+        return misses;
+    }
+    public synchronized void clear() {
+        results.clear();
+        tables.clear();
+        tablePoints = 0;
+        hits = 0;
+        prefixHits = 0;
+        misses = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "попаданий: " + hits + ", по префиксам: " + prefixHits + ", промахов: " + misses
+                + ", результатов: " + results.size() + ", таблиц: " + tables.size() + " (" + tablePoints + " узлов)";
+    }
+
+    private static final class ResultKey {
+        private final Function function;
+        private final double a;
+        private final double b;
+        private final double step;
+
+        ResultKey(Function function, double a, double b, double step) {
+            this.function = function;
+            this.a = a;
+            this.b = b;
+            this.step = step;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ResultKey)) return false;
+            ResultKey that = (ResultKey) o;
+            return Double.compare(a, that.a) == 0 && Double.compare(b, that.b) == 0
+                    && Double.compare(step, that.step) == 0 && function.equals(that.function);
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hash(function, a, b, step);
+        }
+    }
+
+    private static final class TableKey {
+        private final Function function;
+        private final double step;
+
+        TableKey(Function function, double step) {
+            this.function = function;
+            this.step = step;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TableKey)) return false;
+            TableKey that = (TableKey) o;
+            return Double.compare(step, that.step) == 0 && function.equals(that.function);
+        }
+        @Override
+        public int hashCode() {
+            return Objects.hash(function, step);
+        }
+    }
+
+    // Значения функции в узлах x(k) = origin + k * step (последний узел - right)
+    // и префиксные интегралы prefix[k] = интеграл от origin до x(k)
+    private static final class PrefixTable {
+        static final long MAX_SEGMENTS = Integer.MAX_VALUE - 1;
+
+        private final double origin;
+        private final double right;
+        private final double step;
+        private final int segments;
+        private final double[] values;
+        private final double[] prefix;
+
+        PrefixTable(Function function, double origin, double right, double step) {
+            long count = (long) Math.ceil((right - origin) / step);
+            if (count >= MAX_SEGMENTS) {
+                throw new IllegalArgumentException("Слишком много сегментов для кэширования: " + count);
+            }
+            this.origin = origin;
+            this.right = right;
+            this.step = step;
+            this.segments = (int) count;
+            this.values = new double[segments + 1];
+            this.prefix = new double[segments + 1];
+
+            for (int k = 0; k <= segments; k++) {
+                values[k] = node(k);
+            }
+            function.evaluate(values, values);
+            for (int k = 0; k < segments; k++) {
+                prefix[k + 1] = prefix[k] + (values[k] + values[k + 1]) * (node(k + 1) - node(k)) / 2.0;
+            }
+        }
+
+        int size() {
+            return segments + 1;
+        }
+        boolean covers(double a, double b) {
+            return a >= origin && b <= right;
+        }
+        double node(int k) {
+            return k == segments ? right : Math.min(origin + k * step, right);
+        }
+        // Индекс последнего узла, не превосходящего x
+        int floorNode(double x) {
+            int k = (int) Math.min(segments, Math.max(0, Math.floor((x - origin) / step)));
+            while (k > 0 && node(k) > x) k--;
+            while (k < segments && node(k + 1) <= x) k++;
+            return k;
+        }
+        // Интеграл по [a, b] внутри таблицы: разность префиксов плюс неполные крайние сегменты
+        double integrate(Function function, double a, double b) {
+            if (a == b) {
+                return 0.0;
+            }
+            int ka = floorNode(a);
+            int kb = floorNode(b);
+            double fa = node(ka) == a ? values[ka] : function.getFunctionValue(a);
+            double fb = node(kb) == b ? values[kb] : function.getFunctionValue(b);
+            if (ka == kb) {
+                return (fa + fb) * (b - a) / 2.0;
+            }
+
+            double start = node(ka) == a
+                    ? prefix[ka]
+                    : prefix[ka + 1] - (fa + values[ka + 1]) * (node(ka + 1) - a) / 2.0;
+            double end = node(kb) == b
+                    ? prefix[kb]
+                    : prefix[kb] + (values[kb] + fb) * (b - node(kb)) / 2.0;
+            return end - start;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package functions;
+
+// Результат адаптивного интегрирования: значение, оценка погрешности и количество вычислений функции
+public class IntegrationResult {
+    private final double value;
+    private final double errorEstimate;
+    private final int evaluations;
+
+    public IntegrationResult(double value, double errorEstimate, int evaluations) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluations = evaluations;
+    }
+
+    public double getValue() {
+        return value;
+    }
+    public double getErrorEstimate() {
+        return errorEstimate;
+    }
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    @Override
+    public String toString() {
+        return value + " (погрешность " + errorEstimate + ", вычислений " + evaluations + ")";
+    }
+}
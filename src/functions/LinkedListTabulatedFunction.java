@@ -1,8 +1,11 @@
 package functions;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleUnaryOperator;
 
 public class LinkedListTabulatedFunction implements TabulatedFunction, Serializable {
     // Внутренний класс для узлов списка
@@ -10,6 +13,10 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         private transient FunctionPoint point;
         private transient FunctionNode prev;
         private transient FunctionNode next;
+        // Уровни индекса: skipNext[l] - следующий узел уровня l (null - конец списка),
+        // skipWidth[l] - на сколько позиций он дальше этого узла
+        private transient FunctionNode[] skipNext;
+        private transient int[] skipWidth;
 
         public FunctionNode(FunctionPoint point) {
             this.point = point;
@@ -42,6 +49,12 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
     private int size; // Количество значащих элементов
     private transient FunctionNode lastAccessedNode; // Для оптимизации доступа
     private transient int lastAccessedIndex; // Индекс последнего доступного узла
+    private boolean skipIndexEnabled; // Включён ли индекс-список с пропусками
+
+    // Максимальное количество уровней индекса
+    private static final int SKIP_MAX_LEVEL = 32;
+    // Дальше этого расстояния от последнего доступного узла поиск по номеру идёт через индекс
+    private static final int SKIP_LINEAR_LIMIT = 16;
 
     // Инициализация пустого списка с головой
     private void initializeList() {
@@ -51,6 +64,9 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         size = 0;
         lastAccessedNode = head;
         lastAccessedIndex = -1;
+        if (skipIndexEnabled) {
+            initializeSkipHead();
+        }
     }
     // Метод для получения узла по индексу с оптимизацией
     private FunctionNode getNodeByIndex(int index) {
@@ -75,6 +91,11 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
             current = head.getPrev();
             startIndex = size - 1;
         }
+        // Далёкий узел ищем по индексу
+        if (skipIndexEnabled && Math.abs(index - startIndex) > SKIP_LINEAR_LIMIT) {
+            current = skipNodeByIndex(index);
+            startIndex = index;
+        }
         // Поиск нужного узла
         if (index > startIndex) {
             for (int i = startIndex; i < index; i++) {
@@ -121,6 +142,9 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
             newNode.setNext(current);
             current.setPrev(newNode);
         }
+        if (skipIndexEnabled) {
+            skipInsert(newNode, index);
+        }
         size++;
         lastAccessedIndex = -1; // Сбрасываем кэш
         return newNode;
@@ -142,11 +166,145 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         FunctionNode nextNode = nodeToDelete.getNext();
         prevNode.setNext(nextNode);
         nextNode.setPrev(prevNode);
+        if (skipIndexEnabled) {
+            skipDelete(nodeToDelete, index);
+        }
         size--;
         lastAccessedIndex = -1; // Сбрасываем кэш
         return nodeToDelete;
     }
 
+    // Индекс-список с пропусками поверх цепочки узлов. Узел получает случайную высоту
+    // (уровень l с вероятностью 2^-l), уровень 0 повторяет ссылки next.
+    // Ширины уровней позволяют искать и по X, и по номеру за O(log n) в среднем
+    public boolean isSkipIndexEnabled() {
+        return skipIndexEnabled;
+    }
+    // Включение строит индекс за O(n), выключение освобождает его память
+    public void setSkipIndexEnabled(boolean enabled) {
+        if (enabled == skipIndexEnabled) {
+            return;
+        }
+        skipIndexEnabled = enabled;
+        if (enabled) {
+            rebuildSkipIndex();
+        }
+        else {
+            head.skipNext = null;
+            head.skipWidth = null;
+            for (FunctionNode node = head.getNext(); node != head; node = node.getNext()) {
+                node.skipNext = null;
+                node.skipWidth = null;
+            }
+        }
+    }
+    private static int randomSkipHeight() {
+        int height = 1 + Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt());
+        return Math.min(height, SKIP_MAX_LEVEL);
+    }
+    // Голова присутствует на всех уровнях и стоит на позиции -1, конец списка - на позиции size
+    private void initializeSkipHead() {
+        head.skipNext = new FunctionNode[SKIP_MAX_LEVEL];
+        head.skipWidth = new int[SKIP_MAX_LEVEL];
+        Arrays.fill(head.skipWidth, size + 1);
+    }
+    // Построение индекса за один проход по списку
+    private void rebuildSkipIndex() {
+        initializeSkipHead();
+        FunctionNode[] last = new FunctionNode[SKIP_MAX_LEVEL];
+        int[] lastIndex = new int[SKIP_MAX_LEVEL];
+        Arrays.fill(last, head);
+        Arrays.fill(lastIndex, -1);
+
+        FunctionNode node = head.getNext();
+        for (int i = 0; i < size; i++) {
+            int height = randomSkipHeight();
+            node.skipNext = new FunctionNode[height];
+            node.skipWidth = new int[height];
+            for (int l = 0; l < height; l++) {
+                last[l].skipNext[l] = node;
+                last[l].skipWidth[l] = i - lastIndex[l];
+                last[l] = node;
+                lastIndex[l] = i;
+            }
+            node = node.getNext();
+        }
+        for (int l = 0; l < SKIP_MAX_LEVEL; l++) {
+            last[l].skipWidth[l] = size - lastIndex[l];
+        }
+    }
+    private FunctionNode skipNodeByIndex(int index) {
+        FunctionNode current = head;
+        int position = -1;
+        for (int l = SKIP_MAX_LEVEL - 1; l >= 0; l--) {
+            while (current.skipNext[l] != null && position + current.skipWidth[l] <= index) {
+                position += current.skipWidth[l];
+                current = current.skipNext[l];
+            }
+        }
+        return current;
+    }
+    // Номер последнего узла с X <= x (-1, если такого нет); на найденный узел ставится курсор
+    private int skipFloorIndex(double x) {
+        FunctionNode current = head;
+        int position = -1;
+        for (int l = SKIP_MAX_LEVEL - 1; l >= 0; l--) {
+            while (current.skipNext[l] != null && current.skipNext[l].getPoint().getX() <= x) {
+                position += current.skipWidth[l];
+                current = current.skipNext[l];
+            }
+        }
+        if (position != -1) {
+            lastAccessedNode = current;
+            lastAccessedIndex = position;
+        }
+        return position;
+    }
+    // Вставка в индекс узла, уже связанного в список на позиции index (до увеличения size)
+    private void skipInsert(FunctionNode node, int index) {
+        int height = randomSkipHeight();
+        node.skipNext = new FunctionNode[height];
+        node.skipWidth = new int[height];
+
+        FunctionNode current = head;
+        int position = -1;
+        for (int l = SKIP_MAX_LEVEL - 1; l >= 0; l--) {
+            while (current.skipNext[l] != null && position + current.skipWidth[l] < index) {
+                position += current.skipWidth[l];
+                current = current.skipNext[l];
+            }
+            if (l < height) {
+                node.skipNext[l] = current.skipNext[l];
+                node.skipWidth[l] = position + current.skipWidth[l] - index + 1;
+                current.skipNext[l] = node;
+                current.skipWidth[l] = index - position;
+            }
+            else {
+                current.skipWidth[l]++;
+            }
+        }
+    }
+    // Удаление из индекса узла на позиции index (до уменьшения size)
+    private void skipDelete(FunctionNode node, int index) {
+        FunctionNode current = head;
+        int position = -1;
+        for (int l = SKIP_MAX_LEVEL - 1; l >= 0; l--) {
+            while (current.skipNext[l] != null && position + current.skipWidth[l] < index) {
+                position += current.skipWidth[l];
+                current = current.skipNext[l];
+            }
+            if (current.skipNext[l] == node) {
+                current.skipWidth[l] += node.skipWidth[l] - 1;
+                current.skipNext[l] = node.skipNext[l];
+            }
+            else {
+                current.skipWidth[l]--;
+            }
+        }
+        node.skipNext = null;
+        node.skipWidth = null;
+    }
+
     // Конструкторы
     public LinkedListTabulatedFunction(double leftX, double rightX, int pointsCount) {
         if (leftX >= rightX) {
@@ -217,36 +375,81 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
 
         final double EPSILON = 1e-10;
 
-        for (int i = 0; i < size - 1; i++) {
-            FunctionNode current = getNodeByIndex(i);
-            FunctionNode next = current.getNext();
+        FunctionNode current = findSegmentNode(x);
+        FunctionNode next = current.getNext();
 
-            double x1 = current.getPoint().getX();
-            double x2 = next.getPoint().getX();
-            double y1 = current.getPoint().getY();
-            double y2 = next.getPoint().getY();
+        double x1 = current.getPoint().getX();
+        double x2 = next.getPoint().getX();
+        double y1 = current.getPoint().getY();
+        double y2 = next.getPoint().getY();
 
-            if (Math.abs(x - x1) < EPSILON) {
-                return y1;
-            }
-            if (Math.abs(x - x2) < EPSILON) {
-                return y2;
-            }
+        if (Math.abs(x - x1) < EPSILON) {
+            return y1;
+        }
+        if (Math.abs(x - x2) < EPSILON) {
+            return y2;
+        }
+        if (Math.abs(x1 - x2) < EPSILON) {
+            return y1;
+        }
+        return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
+    }
+    // Поиск узла, с которого начинается сегмент [x(i), x(i+1)], содержащий x.
+    // Обход идёт по ссылкам от последнего доступного узла, поэтому при монотонном
+    // проходе по функции (табулирование, интегрирование) каждый вызов стоит O(1) в среднем
+    private FunctionNode findSegmentNode(double x) {
+        // Если x далеко от курсора, переставляем курсор по индексу
+        if (skipIndexEnabled && !isNearCursor(x)) {
+            skipFloorIndex(x);
+        }
 
-            if (x >= x1 && x <= x2) {
-                if (Math.abs(x1 - x2) < EPSILON) {
-                    return y1;
-                }
-                return y1 + (y2 - y1) * (x - x1) / (x2 - x1);
-            }
+        FunctionNode current;
+        int index;
+        if (lastAccessedIndex != -1) {
+            // Начинаем с последнего доступного узла
+            current = lastAccessedNode;
+            index = lastAccessedIndex;
+        }
+        else if (x - getLeftDomainBorder() <= getRightDomainBorder() - x) {
+            // Ближе к началу
+            current = head.getNext();
+            index = 0;
+        }
+        else {
+            // Ближе к концу
+            current = head.getPrev();
+            index = size - 1;
+        }
+        // Последний узел не начинает сегмент
+        if (index == size - 1) {
+            current = current.getPrev();
+            index--;
         }
 
-        FunctionNode lastNode = getNodeByIndex(size - 1);
-        if (Math.abs(x - lastNode.getPoint().getX()) < EPSILON) {
-            return lastNode.getPoint().getY();
+        while (index > 0 && current.getPoint().getX() > x) {
+            current = current.getPrev();
+            index--;
+        }
+        while (index < size - 2 && current.getNext().getPoint().getX() <= x) {
+            current = current.getNext();
+            index++;
         }
 
-        return Double.NaN;
+        // Сохраняем для будущей оптимизации
+        lastAccessedNode = current;
+        lastAccessedIndex = index;
+        return current;
+    }
+    // Лежит ли x в сегменте, начинающемся с последнего доступного узла, или в следующем
+    private boolean isNearCursor(double x) {
+        if (lastAccessedIndex == -1 || lastAccessedNode.getPoint().getX() > x) {
+            return false;
+        }
+        FunctionNode after = lastAccessedNode.getNext();
+        if (after != head) {
+            after = after.getNext();
+        }
+        return after == head || x < after.getPoint().getX();
     }
     @Override
     public int getPointsCount() {
@@ -298,6 +501,15 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
     }
     @Override
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        if (skipIndexEnabled) {
+            // Позиция для вставки находится по индексу
+            int floorIndex = skipFloorIndex(point.getX());
+            if (floorIndex != -1 && lastAccessedNode.getPoint().getX() == point.getX()) {
+                throw new InappropriateFunctionPointException("Точка с X=" + point.getX() + " уже существует");
+            }
+            addNodeByIndex(floorIndex + 1).setPoint(point);
+            return;
+        }
         // Находим позицию для вставки
         int insertIndex = size;
         for (int i = 0; i < size; i++) {
@@ -314,6 +526,108 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
         newNode.setPoint(point);
     }
 
+    // Обход по ссылкам без поиска узлов по индексу
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (FunctionNode current = head.getNext(); current != head; current = current.getNext()) {
+            consumer.accept(current.getPoint().getX(), current.getPoint().getY());
+        }
+    }
+    // Пакетные операции: порядок проверяется один раз, узлы связываются одним проходом по списку
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+        if (points.length == 0) {
+            return;
+        }
+
+        // Первый проход только ищет совпадения X, чтобы при ошибке список не изменился
+        FunctionNode current = head.getNext();
+        int index = 0;
+        for (FunctionPoint point : points) {
+            while (index < size && current.getPoint().getX() < point.getX()) {
+                current = current.getNext();
+                index++;
+            }
+            if (index < size && current.getPoint().getX() == point.getX()) {
+                throw new InappropriateFunctionPointException("Точка с X=" + point.getX() + " уже существует");
+            }
+        }
+
+        // Второй проход вставляет каждую точку перед первым узлом с большим X
+        current = head.getNext();
+        for (FunctionPoint point : points) {
+            while (current != head && current.getPoint().getX() < point.getX()) {
+                current = current.getNext();
+            }
+            FunctionNode newNode = new FunctionNode(new FunctionPoint(point));
+            FunctionNode prevNode = current.getPrev();
+            prevNode.setNext(newNode);
+            newNode.setPrev(prevNode);
+            newNode.setNext(current);
+            current.setPrev(newNode);
+        }
+        size += points.length;
+        lastAccessedIndex = -1; // Сбрасываем кэш
+        if (skipIndexEnabled) {
+            rebuildSkipIndex();
+        }
+    }
+    @Override
+    public void deletePoints(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new FunctionPointIndexOutOfBoundsException("Диапазон: [" + from + ", " + to + "), Количество: " + size);
+        }
+        int remaining = size - (to - from);
+        if (remaining < 2) {
+            throw new IllegalStateException("Невозможно удалить точки: требуется минимум 2 точки, останется: " + remaining);
+        }
+        if (from == to) {
+            return;
+        }
+
+        FunctionNode first = getNodeByIndex(from);
+        FunctionNode last = first;
+        for (int i = from; i < to - 1; i++) {
+            last = last.getNext();
+        }
+        if (skipIndexEnabled) {
+            // Каждый удаляемый узел по очереди оказывается на позиции from
+            for (FunctionNode node = first; node != last.getNext(); node = node.getNext()) {
+                skipDelete(node, from);
+            }
+        }
+        // Диапазон вырезается из списка одним перевязыванием
+        FunctionNode prevNode = first.getPrev();
+        FunctionNode nextNode = last.getNext();
+        prevNode.setNext(nextNode);
+        nextNode.setPrev(prevNode);
+        size = remaining;
+        lastAccessedIndex = -1; // Сбрасываем кэш
+    }
+    @Override
+    public void setPointsY(double[] values) {
+        if (values.length != size) {
+            throw new IllegalArgumentException("Количество значений " + values.length + " не совпадает с количеством точек " + size);
+        }
+        FunctionNode current = head.getNext();
+        for (int i = 0; i < size; i++) {
+            current.setPoint(new FunctionPoint(current.getPoint().getX(), values[i]));
+            current = current.getNext();
+        }
+    }
+    @Override
+    public void transformPointsY(DoubleUnaryOperator operator) {
+        for (FunctionNode current = head.getNext(); current != head; current = current.getNext()) {
+            FunctionPoint point = current.getPoint();
+            current.setPoint(new FunctionPoint(point.getX(), operator.applyAsDouble(point.getY())));
+        }
+    }
+
     // Специальные методы для сериализации
     private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
         // Сериализуем обычные поля
@@ -460,6 +774,9 @@ public class LinkedListTabulatedFunction implements TabulatedFunction, Serializa
             // Сбрасываем кэш доступа
             cloned.lastAccessedNode = cloned.head;
             cloned.lastAccessedIndex = -1;
+            if (cloned.skipIndexEnabled) {
+                cloned.rebuildSkipIndex();
+            }
 
             return cloned;
 
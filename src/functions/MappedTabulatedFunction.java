@@ -0,0 +1,295 @@
+package functions;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Табулированная функция, точки которой лежат вне кучи: в файле, отображённом в память.
+// Формат файла совпадает с TabulatedFunctions.outputTabulatedFunction:
+// int количество точек, затем пары double (x, y) в порядке возрастания X.
+// Экземпляр, открытый только для чтения, можно использовать из нескольких потоков:
+// все обращения к буферам абсолютные и не меняют их позицию.
+public class MappedTabulatedFunction implements TabulatedFunction, Serializable {
+    private static final int HEADER_SIZE = Integer.BYTES;
+    private static final int POINT_SIZE = 2 * Double.BYTES;
+    // Один MappedByteBuffer ограничен 2 ГБ, поэтому большой файл отображается кусками по 1 ГБ
+    private static final int REGION_SHIFT = 26;
+    private static final int POINTS_PER_REGION = 1 << REGION_SHIFT;
+
+    // Поля класса
+    private final String fileName;
+    private final boolean writable;
+    private final int pointsCount;
+    private transient MappedByteBuffer[] regions;
+
+    // Конструкторы
+    public MappedTabulatedFunction(Path file) throws IOException {
+        this(file, false);
+    }
+    public MappedTabulatedFunction(Path file, boolean writable) throws IOException {
+        this.fileName = file.toAbsolutePath().toString();
+        this.writable = writable;
+        this.pointsCount = mapRegions();
+    }
+
+    // Отображение файла в память; возвращает количество точек из заголовка
+    private int mapRegions() throws IOException {
+        Path file = Paths.get(fileName);
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        // Отображение остаётся действительным и после закрытия канала
+        try (channel) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Файл слишком мал для табулированной функции: " + fileSize + " байт");
+            }
+            int count = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE).getInt(0);
+            if (count < 2) {
+                throw new IOException("Некорректное количество точек: " + count);
+            }
+            if (fileSize < HEADER_SIZE + (long) count * POINT_SIZE) {
+                throw new IOException("Файл обрезан: ожидалось " + count + " точек, размер " + fileSize + " байт");
+            }
+
+            int regionCount = (count + POINTS_PER_REGION - 1) >>> REGION_SHIFT;
+            regions = new MappedByteBuffer[regionCount];
+            for (int r = 0; r < regionCount; r++) {
+                long firstPoint = (long) r << REGION_SHIFT;
+                long regionPoints = Math.min(POINTS_PER_REGION, count - firstPoint);
+                regions[r] = channel.map(mode, HEADER_SIZE + firstPoint * POINT_SIZE, regionPoints * POINT_SIZE);
+            }
+            return count;
+        }
+    }
+    // Чтение координат напрямую из отображённого буфера без проверки индекса
+    private double x(int index) {
+        return regions[index >>> REGION_SHIFT].getDouble((index & (POINTS_PER_REGION - 1)) * POINT_SIZE);
+    }
+    private double y(int index) {
+        return regions[index >>> REGION_SHIFT].getDouble((index & (POINTS_PER_REGION - 1)) * POINT_SIZE + Double.BYTES);
+    }
+    private void checkIndex(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+    }
+    private void checkWritable() {
+        if (!writable) {
+            throw new UnsupportedOperationException("Функция открыта только для чтения: " + fileName);
+        }
+    }
+
+    public boolean isWritable() {
+        return writable;
+    }
+    // Сбрасывает изменённые страницы на диск (только для режима записи)
+    public void force() {
+        checkWritable();
+        for (MappedByteBuffer region : regions) {
+            region.force();
+        }
+    }
+
+    // Реализация методов
+    @Override
+    public double getLeftDomainBorder() {
+        return x(0);
+    }
+    @Override
+    public double getRightDomainBorder() {
+        return x(pointsCount - 1);
+    }
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder())
+            return Double.NaN;
+
+        final double EPSILON = 1e-10;
+
+        // Бинарный поиск последней точки с X <= x прямо по отображённому буферу
+        int low = 0;
+        int high = pointsCount - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (x(mid) <= x) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+
+        double x1 = x(low);
+        double x2 = x(low + 1);
+        if (Math.abs(x - x1) < EPSILON) {
+            return y(low);
+        }
+        if (Math.abs(x - x2) < EPSILON) {
+            return y(low + 1);
+        }
+
+        double y1 = y(low);
+        double y2 = y(low + 1);
+        return y1 + ((y2 - y1) * (x - x1)) / (x2 - x1);
+    }
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+    @Override
+    public FunctionPoint getPoint(int index) {
+        checkIndex(index);
+        return new FunctionPoint(x(index), y(index));
+    }
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        setPointX(index, point.getX());
+        setPointY(index, point.getY());
+    }
+    @Override
+    public double getPointX(int index) {
+        checkIndex(index);
+        return x(index);
+    }
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        checkIndex(index);
+        checkWritable();
+
+        if (index > 0 && x <= x(index - 1)) {
+            throw new InappropriateFunctionPointException("Точка x= " + x + " должно быть больше предыдущей точки x= " + x(index - 1));
+        }
+        if (index < pointsCount - 1 && x >= x(index + 1)) {
+            throw new InappropriateFunctionPointException("Точка x= " + x + " должно быть меньше следующей точки x= " + x(index + 1));
+        }
+
+        regions[index >>> REGION_SHIFT].putDouble((index & (POINTS_PER_REGION - 1)) * POINT_SIZE, x);
+    }
+    @Override
+    public double getPointY(int index) {
+        checkIndex(index);
+        return y(index);
+    }
+    @Override
+    public void setPointY(int index, double y) {
+        checkIndex(index);
+        checkWritable();
+        regions[index >>> REGION_SHIFT].putDouble((index & (POINTS_PER_REGION - 1)) * POINT_SIZE + Double.BYTES, y);
+    }
+    @Override
+    public void deletePoint(int index) {
+        throw new UnsupportedOperationException("Количество точек отображённой в файл функции фиксировано");
+    }
+    @Override
+    public void addPoint(FunctionPoint point) {
+        throw new UnsupportedOperationException("Количество точек отображённой в файл функции фиксировано");
+    }
+
+    // Специальные методы для сериализации: сохраняется путь к файлу, отображение создаётся заново
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = mapRegions();
+        if (count != pointsCount) {
+            throw new java.io.InvalidObjectException("Файл " + fileName + " изменился: " + count + " точек вместо " + pointsCount);
+        }
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (int i = 0; i < pointsCount; i++) {
+            consumer.accept(x(i), y(i));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < pointsCount; i++) {
+            sb.append("(").append(x(i))
+                    .append("; ").append(y(i)).append(")");
+            if (i < pointsCount - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction)) return false;
+
+        TabulatedFunction other = (TabulatedFunction) o;
+        if (this.getPointsCount() != other.getPointsCount()) return false;
+
+        for (int i = 0; i < pointsCount; i++) {
+            FunctionPoint thisPoint = this.getPoint(i);
+            FunctionPoint otherPoint = other.getPoint(i);
+
+            if (!thisPoint.equals(otherPoint)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    @Override
+    public int hashCode() {
+        int hash = pointsCount; // Начинаем с количества точек
+
+        for (int i = 0; i < pointsCount; i++) {
+            // Тот же хэш, что и у FunctionPoint, без создания объекта точки
+            long xBits = Double.doubleToLongBits(x(i));
+            long yBits = Double.doubleToLongBits(y(i));
+            hash ^= (int) (xBits ^ (xBits >>> 32)) ^ (int) (yBits ^ (yBits >>> 32));
+        }
+
+        return hash;
+    }
+    @Override
+    public Object clone() {
+        try {
+            // Копия разделяет отображение файла: данные уже лежат вне объекта,
+            // а изменения в режиме записи видны всем, кто отобразил этот файл
+            return super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Клонирование не поддерживается", e);
+        }
+    }
+
+    @Override
+    public Iterator<FunctionPoint> iterator() {
+        return new Iterator<FunctionPoint>() {
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < pointsCount;
+            }
+
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Нет следующего элемента");
+                }
+                // Возвращаем новую точку, изменение которой не затрагивает файл
+                FunctionPoint point = new FunctionPoint(x(currentIndex), y(currentIndex));
+                currentIndex++;
+                return point;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Удаление не поддерживается");
+            }
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package functions;
+
+// Получатель координат точек табулированной функции (см. TabulatedFunction.forEachPoint)
+@FunctionalInterface
+public interface PointConsumer {
+    void accept(double x, double y);
+}
@@ -0,0 +1,505 @@
+package functions;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleUnaryOperator;
+
+public class PrimitiveArrayTabulatedFunction implements TabulatedFunction, Serializable {
+    // Поля класса: координаты хранятся в двух параллельных массивах (16 байт на точку)
+    private int pointsCount;
+    private transient double[] xValues;
+    private transient double[] yValues;
+    // Признак равномерной сетки (точки не менялись после конструктора с границами)
+    private transient boolean uniformGrid;
+    private transient double gridLeftX;
+    private transient double gridStep;
+
+    // Конструкторы
+    public PrimitiveArrayTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой границы: " + leftX + " >= " + rightX);
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество баллов должно быть не менее 2: " + pointsCount);
+        }
+
+        this.pointsCount = pointsCount;
+        this.xValues = new double[pointsCount];
+        this.yValues = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = leftX + i * step;
+        }
+        setUniformGrid(leftX, step);
+    }
+    public PrimitiveArrayTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой границы: " + leftX + " >= " + rightX);
+        }
+        if (values.length < 2) {
+            throw new IllegalArgumentException("Количество баллов должно быть не менее 2: " + values.length);
+        }
+
+        this.pointsCount = values.length;
+        this.xValues = new double[pointsCount];
+        this.yValues = Arrays.copyOf(values, pointsCount);
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = leftX + i * step;
+        }
+        setUniformGrid(leftX, step);
+    }
+    public PrimitiveArrayTabulatedFunction(FunctionPoint[] points) {
+        if (points.length < 2) {
+            throw new IllegalArgumentException("Требуется как минимум 2 точки");
+        }
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+
+        this.pointsCount = points.length;
+        this.xValues = new double[pointsCount];
+        this.yValues = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = points[i].getX();
+            yValues[i] = points[i].getY();
+        }
+    }
+
+    public PrimitiveArrayTabulatedFunction(double[] xValues, double[] yValues) {
+        this(checkCoordinates(xValues, yValues), xValues.clone(), yValues.clone());
+    }
+    // Массивы координат принимаются во владение без копирования (для фабрики и ввода)
+    private PrimitiveArrayTabulatedFunction(int pointsCount, double[] xValues, double[] yValues) {
+        this.pointsCount = pointsCount;
+        this.xValues = xValues;
+        this.yValues = yValues;
+    }
+    // Проверка массивов координат; возвращает количество точек
+    private static int checkCoordinates(double[] xValues, double[] yValues) {
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("Массивы координат разной длины: " + xValues.length + " и " + yValues.length);
+        }
+        if (xValues.length < 2) {
+            throw new IllegalArgumentException("Требуется как минимум 2 точки");
+        }
+        for (int i = 1; i < xValues.length; i++) {
+            if (xValues[i] <= xValues[i - 1]) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+        return xValues.length;
+    }
+
+    // Реализация методов
+    @Override
+    public double getLeftDomainBorder() {
+        return xValues[0];
+    }
+    @Override
+    public double getRightDomainBorder() {
+        return xValues[pointsCount - 1];
+    }
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder())
+            return Double.NaN;
+
+        final double EPSILON = 1e-10;
+
+        int i = findSegmentIndex(x);
+        double x1 = xValues[i];
+        double x2 = xValues[i + 1];
+
+        if (Math.abs(x - x1) < EPSILON) {
+            return yValues[i];
+        }
+        if (Math.abs(x - x2) < EPSILON) {
+            return yValues[i + 1];
+        }
+
+        double y1 = yValues[i];
+        double y2 = yValues[i + 1];
+        return y1 + ((y2 - y1) * (x - x1)) / (x2 - x1);
+    }
+    // Поиск сегмента [x(i), x(i+1)], содержащего x (x должен лежать в области определения)
+    private int findSegmentIndex(double x) {
+        int last = pointsCount - 2;
+        int i;
+        if (uniformGrid) {
+            // Равномерная сетка: индекс вычисляется напрямую, затем корректируется на погрешность округления
+            i = (int) ((x - gridLeftX) / gridStep);
+            if (i < 0) i = 0;
+            if (i > last) i = last;
+            while (i > 0 && xValues[i] > x) i--;
+            while (i < last && xValues[i + 1] <= x) i++;
+            return i;
+        }
+        // Бинарный поиск последней точки с X <= x
+        int low = 0;
+        int high = last;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xValues[mid] <= x) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+    private void setUniformGrid(double leftX, double step) {
+        uniformGrid = true;
+        gridLeftX = leftX;
+        gridStep = step;
+    }
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+    @Override
+    public FunctionPoint getPoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+        return new FunctionPoint(xValues[index], yValues[index]);
+    }
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        setPointX(index, point.getX());
+        yValues[index] = point.getY();
+    }
+    @Override
+    public double getPointX(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+        return xValues[index];
+    }
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+
+        if (index > 0 && x <= xValues[index - 1]) {
+            throw new InappropriateFunctionPointException("Точка x= " + x + " должно быть больше предыдущей точки x= " + xValues[index - 1]);
+        }
+        if (index < pointsCount - 1 && x >= xValues[index + 1]) {
+            throw new InappropriateFunctionPointException("Точка x= " + x + " должно быть меньше следующей точки x= " + xValues[index + 1]);
+        }
+
+        xValues[index] = x;
+        uniformGrid = false;
+    }
+    @Override
+    public double getPointY(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+        return yValues[index];
+    }
+    @Override
+    public void setPointY(int index, double y) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+        yValues[index] = y;
+    }
+    @Override
+    public void deletePoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+
+        if (pointsCount < 3) {
+            throw new IllegalStateException("Невозможно удалить точку: требуется минимум 2 точки, текущая: " + pointsCount);
+        }
+
+        System.arraycopy(xValues, index + 1, xValues, index, pointsCount - index - 1);
+        System.arraycopy(yValues, index + 1, yValues, index, pointsCount - index - 1);
+        pointsCount--;
+        uniformGrid = false;
+    }
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+
+        // Бинарный поиск позиции вставки
+        int insertIndex = Arrays.binarySearch(xValues, 0, pointsCount, x);
+        if (insertIndex >= 0) {
+            throw new InappropriateFunctionPointException("Точка с х= " + x + " уже существует по индексу " + insertIndex);
+        }
+        insertIndex = -insertIndex - 1;
+
+        if (pointsCount >= xValues.length) {
+            // Геометрический рост, чтобы серия вставок не копировала массивы на каждом шаге
+            int newCapacity = xValues.length + (xValues.length >> 1) + 1;
+            xValues = Arrays.copyOf(xValues, newCapacity);
+            yValues = Arrays.copyOf(yValues, newCapacity);
+        }
+
+        System.arraycopy(xValues, insertIndex, xValues, insertIndex + 1, pointsCount - insertIndex);
+        System.arraycopy(yValues, insertIndex, yValues, insertIndex + 1, pointsCount - insertIndex);
+        xValues[insertIndex] = x;
+        yValues[insertIndex] = point.getY();
+        pointsCount++;
+        uniformGrid = false;
+    }
+
+    // Пакетные операции: порядок проверяется один раз, данные сдвигаются одним проходом
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+        if (points.length == 0) {
+            return;
+        }
+
+        // Слияние в новые массивы; при совпадении X функция остаётся без изменений
+        int total = pointsCount + points.length;
+        double[] mergedX = new double[total];
+        double[] mergedY = new double[total];
+        int count = 0;
+        int k = 0;
+        for (int i = 0; i < pointsCount; i++) {
+            double x = xValues[i];
+            while (k < points.length && points[k].getX() < x) {
+                mergedX[count] = points[k].getX();
+                mergedY[count++] = points[k++].getY();
+            }
+            if (k < points.length && points[k].getX() == x) {
+                throw new InappropriateFunctionPointException("Точка с х= " + x + " уже существует по индексу " + i);
+            }
+            mergedX[count] = x;
+            mergedY[count++] = yValues[i];
+        }
+        while (k < points.length) {
+            mergedX[count] = points[k].getX();
+            mergedY[count++] = points[k++].getY();
+        }
+
+        xValues = mergedX;
+        yValues = mergedY;
+        pointsCount = total;
+        uniformGrid = false;
+    }
+    @Override
+    public void deletePoints(int from, int to) {
+        if (from < 0 || to > pointsCount || from > to) {
+            throw new FunctionPointIndexOutOfBoundsException("Диапазон: [" + from + ", " + to + "), Количество: " + pointsCount);
+        }
+        int remaining = pointsCount - (to - from);
+        if (remaining < 2) {
+            throw new IllegalStateException("Невозможно удалить точки: требуется минимум 2 точки, останется: " + remaining);
+        }
+        if (from == to) {
+            return;
+        }
+
+        System.arraycopy(xValues, to, xValues, from, pointsCount - to);
+        System.arraycopy(yValues, to, yValues, from, pointsCount - to);
+        pointsCount = remaining;
+        uniformGrid = false;
+    }
+    @Override
+    public void setPointsY(double[] values) {
+        if (values.length != pointsCount) {
+            throw new IllegalArgumentException("Количество значений " + values.length + " не совпадает с количеством точек " + pointsCount);
+        }
+        System.arraycopy(values, 0, yValues, 0, pointsCount);
+    }
+    @Override
+    public void transformPointsY(DoubleUnaryOperator operator) {
+        for (int i = 0; i < pointsCount; i++) {
+            yValues[i] = operator.applyAsDouble(yValues[i]);
+        }
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (int i = 0; i < pointsCount; i++) {
+            consumer.accept(xValues[i], yValues[i]);
+        }
+    }
+
+    // Специальные методы для сериализации: записываются только заполненные части массивов,
+    // без запаса ёмкости. X равномерной сетки не записываются: они восстанавливаются
+    // по левой границе и шагу, как в конструкторе
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+        out.defaultWriteObject();
+        out.writeBoolean(uniformGrid);
+        if (uniformGrid) {
+            out.writeDouble(gridLeftX);
+            out.writeDouble(gridStep);
+        }
+        else {
+            out.writeUnshared(xValues.length == pointsCount ? xValues : Arrays.copyOf(xValues, pointsCount));
+        }
+        out.writeUnshared(yValues.length == pointsCount ? yValues : Arrays.copyOf(yValues, pointsCount));
+    }
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (pointsCount < 2) {
+            throw new java.io.InvalidObjectException("Некорректное количество точек: " + pointsCount);
+        }
+        if (in.readBoolean()) {
+            double leftX = in.readDouble();
+            double step = in.readDouble();
+            xValues = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                xValues[i] = leftX + i * step;
+            }
+            setUniformGrid(leftX, step);
+        }
+        else {
+            xValues = readValues(in);
+        }
+        yValues = readValues(in);
+    }
+    private double[] readValues(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        Object values = in.readUnshared();
+        if (!(values instanceof double[]) || ((double[]) values).length != pointsCount) {
+            throw new java.io.InvalidObjectException("Некорректный массив координат");
+        }
+        return (double[]) values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < pointsCount; i++) {
+            sb.append("(").append(xValues[i])
+                    .append("; ").append(yValues[i]).append(")");
+            if (i < pointsCount - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction)) return false;
+
+        TabulatedFunction other = (TabulatedFunction) o;
+
+        // Быстрая проверка для PrimitiveArrayTabulatedFunction
+        if (o instanceof PrimitiveArrayTabulatedFunction) {
+            PrimitiveArrayTabulatedFunction otherArray = (PrimitiveArrayTabulatedFunction) o;
+
+            if (this.pointsCount != otherArray.pointsCount) return false;
+
+            // Прямое сравнение массивов координат с той же точностью, что и FunctionPoint.equals
+            final double EPSILON = 1e-10;
+            for (int i = 0; i < pointsCount; i++) {
+                if (Math.abs(this.xValues[i] - otherArray.xValues[i]) >= EPSILON
+                        || Math.abs(this.yValues[i] - otherArray.yValues[i]) >= EPSILON) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Общий случай для любого TabulatedFunction
+        if (this.getPointsCount() != other.getPointsCount()) return false;
+
+        for (int i = 0; i < pointsCount; i++) {
+            FunctionPoint thisPoint = this.getPoint(i);
+            FunctionPoint otherPoint = other.getPoint(i);
+
+            if (!thisPoint.equals(otherPoint)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    @Override
+    public int hashCode() {
+        int hash = pointsCount; // Начинаем с количества точек
+
+        for (int i = 0; i < pointsCount; i++) {
+            // Тот же хэш, что и у FunctionPoint, без создания объекта точки
+            long xBits = Double.doubleToLongBits(xValues[i]);
+            long yBits = Double.doubleToLongBits(yValues[i]);
+            hash ^= (int) (xBits ^ (xBits >>> 32)) ^ (int) (yBits ^ (yBits >>> 32));
+        }
+
+        return hash;
+    }
+    @Override
+    public Object clone() {
+        try {
+            PrimitiveArrayTabulatedFunction cloned = (PrimitiveArrayTabulatedFunction) super.clone();
+
+            // Копирование массивов координат (примитивы копируются по значению)
+            cloned.xValues = Arrays.copyOf(this.xValues, this.pointsCount);
+            cloned.yValues = Arrays.copyOf(this.yValues, this.pointsCount);
+
+            return cloned;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Клонирование не поддерживается", e);
+        }
+    }
+
+    @Override
+    public Iterator<FunctionPoint> iterator() {
+        return new Iterator<FunctionPoint>() {
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < pointsCount;
+            }
+
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Нет следующего элемента");
+                }
+                // Возвращаем новую точку, чтобы нельзя было изменить массивы функции
+                FunctionPoint point = new FunctionPoint(xValues[currentIndex], yValues[currentIndex]);
+                currentIndex++;
+                return point;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Удаление не поддерживается");
+            }
+        };
+    }
+    // Вложенный класс фабрики
+    public static class PrimitiveArrayTabulatedFunctionFactory extends AdoptingTabulatedFunctionFactory {
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            return new PrimitiveArrayTabulatedFunction(leftX, rightX, pointsCount);
+        }
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            return new PrimitiveArrayTabulatedFunction(leftX, rightX, values);
+        }
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new PrimitiveArrayTabulatedFunction(points);
+        }
+        @Override
+        public TabulatedFunction createTabulatedFunction(double[] xValues, double[] yValues) {
+            return new PrimitiveArrayTabulatedFunction(xValues, yValues);
+        }
+        @Override
+        TabulatedFunction adoptTabulatedFunction(double[] xValues, double[] yValues) {
+            return new PrimitiveArrayTabulatedFunction(checkCoordinates(xValues, yValues), xValues, yValues);
+        }
+    }
+}
@@ -0,0 +1,627 @@
+package functions;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.DoubleUnaryOperator;
+
+// Табулированная функция с кусочно-кубической интерполяцией Эрмита: на каждом отрезке многочлен
+// третьей степени, совпадающий в узлах со значениями и с производными, оценёнными по пяти соседним
+// узлам. Функция гладкая (непрерывна первая производная), погрешность для гладких функций O(h^4),
+// как у кубического сплайна, но коэффициенты отрезка зависят только от соседних точек: изменение
+// точки пересчитывает несколько отрезков, а не решает систему для всей таблицы. Монотонность данных
+// не сохраняется - около скачков значений возможны выбросы. На отрезке [x(i), x(i+1)] при t = x - x(i):
+// y = y(i) + t * (slopes[i] + t * (quadratic[i] + t * cubic[i]))
+public class SplineTabulatedFunction implements TabulatedFunction, Serializable {
+    // Производная в узле оценивается по узлам на расстоянии до SLOPE_RADIUS
+    private static final int SLOPE_RADIUS = 2;
+
+    // Поля класса: координаты и коэффициенты в параллельных массивах (40 байт на точку)
+    private int pointsCount;
+    private transient double[] xValues;
+    private transient double[] yValues;
+    // Производные в узлах и коэффициенты при t^2 и t^3 для отрезка, начинающегося в узле
+    private transient double[] slopes;
+    private transient double[] quadratic;
+    private transient double[] cubic;
+    // Признак равномерной сетки (точки не менялись после конструктора с границами)
+    private transient boolean uniformGrid;
+    private transient double gridLeftX;
+    private transient double gridStep;
+
+    // Конструкторы
+    public SplineTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой границы: " + leftX + " >= " + rightX);
+        }
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество баллов должно быть не менее 2: " + pointsCount);
+        }
+
+        this.pointsCount = pointsCount;
+        this.xValues = new double[pointsCount];
+        this.yValues = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = leftX + i * step;
+        }
+        setUniformGrid(leftX, step);
+        computeCoefficients();
+    }
+    public SplineTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой границы: " + leftX + " >= " + rightX);
+        }
+        if (values.length < 2) {
+            throw new IllegalArgumentException("Количество баллов должно быть не менее 2: " + values.length);
+        }
+
+        this.pointsCount = values.length;
+        this.xValues = new double[pointsCount];
+        this.yValues = Arrays.copyOf(values, pointsCount);
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = leftX + i * step;
+        }
+        setUniformGrid(leftX, step);
+        computeCoefficients();
+    }
+    public SplineTabulatedFunction(FunctionPoint[] points) {
+        if (points.length < 2) {
+            throw new IllegalArgumentException("Требуется как минимум 2 точки");
+        }
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+
+        this.pointsCount = points.length;
+        this.xValues = new double[pointsCount];
+        this.yValues = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            xValues[i] = points[i].getX();
+            yValues[i] = points[i].getY();
+        }
+        computeCoefficients();
+    }
+
+    public SplineTabulatedFunction(double[] xValues, double[] yValues) {
+        this(checkCoordinates(xValues, yValues), xValues.clone(), yValues.clone());
+    }
+    // Массивы координат принимаются во владение без копирования (для фабрики и ввода)
+    private SplineTabulatedFunction(int pointsCount, double[] xValues, double[] yValues) {
+        this.pointsCount = pointsCount;
+        this.xValues = xValues;
+        this.yValues = yValues;
+        computeCoefficients();
+    }
+    // Проверка массивов координат; возвращает количество точек
+    private static int checkCoordinates(double[] xValues, double[] yValues) {
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("Массивы координат разной длины: " + xValues.length + " и " + yValues.length);
+        }
+        if (xValues.length < 2) {
+            throw new IllegalArgumentException("Требуется как минимум 2 точки");
+        }
+        for (int i = 1; i < xValues.length; i++) {
+            if (xValues[i] <= xValues[i - 1]) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+        return xValues.length;
+    }
+
+    // === КОЭФФИЦИЕНТЫ СПЛАЙНА ===
+
+    // Полный пересчёт за O(n) с выделением массивов коэффициентов по ёмкости массивов координат
+    private void computeCoefficients() {
+        int capacity = xValues.length;
+        if (slopes == null || slopes.length != capacity) {
+            slopes = new double[capacity];
+            quadratic = new double[capacity];
+            cubic = new double[capacity];
+        }
+        for (int i = 0; i < pointsCount; i++) {
+            slopes[i] = slope(i);
+        }
+        for (int i = 0; i < pointsCount - 1; i++) {
+            segment(i);
+        }
+    }
+    // Пересчёт после изменения точек с индексами first..last: производная в узле j зависит
+    // от точек j-2..j+2 (у крайних узлов - от пяти крайних точек), отрезок - от производных на концах
+    private void updateCoefficients(int first, int last) {
+        int lastIndex = pointsCount - 1;
+        int from = Math.max(0, first - SLOPE_RADIUS);
+        int to = Math.min(lastIndex, last + SLOPE_RADIUS);
+        // Крайние узлы берут окно из первых (последних) 2 * SLOPE_RADIUS + 1 точек:
+        // если изменённая точка попала в него, пересчёт доходит до края
+        if (from <= 2 * SLOPE_RADIUS) {
+            from = 0;
+        }
+        if (to >= lastIndex - 2 * SLOPE_RADIUS) {
+            to = lastIndex;
+        }
+        for (int j = from; j <= to; j++) {
+            slopes[j] = slope(j);
+        }
+        int segmentTo = Math.min(lastIndex - 1, to);
+        for (int j = Math.max(0, from - 1); j <= segmentTo; j++) {
+            segment(j);
+        }
+    }
+    // Производная в узле i - производная многочлена 4-й степени, проходящего через пять ближайших
+    // узлов (у краёв окно сдвигается внутрь, при малом числе точек берутся все). Погрешность
+    // производной O(h^4), поэтому погрешность интерполяции гладкой функции O(h^4), как у сплайна
+    private double slope(int i) {
+        int from = Math.max(0, Math.min(i - SLOPE_RADIUS, pointsCount - 2 * SLOPE_RADIUS - 1));
+        int to = Math.min(pointsCount - 1, from + 2 * SLOPE_RADIUS);
+        double xi = xValues[i];
+        double result = 0.0;
+        for (int j = from; j <= to; j++) {
+            double weight;
+            if (j == i) {
+                weight = 0.0;
+                for (int k = from; k <= to; k++) {
+                    if (k != i) {
+                        weight += 1.0 / (xi - xValues[k]);
+                    }
+                }
+            }
+            else {
+                // Производная базисного многочлена Лагранжа L_j в узле x(i)
+                double xj = xValues[j];
+                weight = 1.0 / (xj - xi);
+                for (int k = from; k <= to; k++) {
+                    if (k != i && k != j) {
+                        weight *= (xi - xValues[k]) / (xj - xValues[k]);
+                    }
+                }
+            }
+            result += weight * yValues[j];
+        }
+        return result;
+    }
+    // Коэффициенты многочлена Эрмита на отрезке [x(i), x(i+1)]
+    private void segment(int i) {
+        double h = xValues[i + 1] - xValues[i];
+        double secant = (yValues[i + 1] - yValues[i]) / h;
+        quadratic[i] = (3 * secant - 2 * slopes[i] - slopes[i + 1]) / h;
+        cubic[i] = (slopes[i] + slopes[i + 1] - 2 * secant) / (h * h);
+    }
+
+    // Реализация методов
+    @Override
+    public double getLeftDomainBorder() {
+        return xValues[0];
+    }
+    @Override
+    public double getRightDomainBorder() {
+        return xValues[pointsCount - 1];
+    }
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < getLeftDomainBorder() || x > getRightDomainBorder())
+            return Double.NaN;
+
+        // Правая граница - конец последнего отрезка; остальные узлы попадают в начало отрезка (t = 0)
+        if (x == xValues[pointsCount - 1]) {
+            return yValues[pointsCount - 1];
+        }
+        int i = findSegmentIndex(x);
+        double t = x - xValues[i];
+        return yValues[i] + t * (slopes[i] + t * (quadratic[i] + t * cubic[i]));
+    }
+    // Поиск сегмента [x(i), x(i+1)], содержащего x (x должен лежать в области определения)
+    private int findSegmentIndex(double x) {
+        int last = pointsCount - 2;
+        int i;
+        if (uniformGrid) {
+            // Равномерная сетка: индекс вычисляется напрямую, затем корректируется на погрешность округления
+            i = (int) ((x - gridLeftX) / gridStep);
+            if (i < 0) i = 0;
+            if (i > last) i = last;
+            while (i > 0 && xValues[i] > x) i--;
+            while (i < last && xValues[i + 1] <= x) i++;
+            return i;
+        }
+        // Бинарный поиск последней точки с X <= x
+        int low = 0;
+        int high = last;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xValues[mid] <= x) {
+                low = mid;
+            }
+            else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+    private void setUniformGrid(double leftX, double step) {
+        uniformGrid = true;
+        gridLeftX = leftX;
+        gridStep = step;
+    }
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+    @Override
+    public FunctionPoint getPoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+        return new FunctionPoint(xValues[index], yValues[index]);
+    }
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        setPointX(index, point.getX());
+        yValues[index] = point.getY();
+        updateCoefficients(index, index);
+    }
+    @Override
+    public double getPointX(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+        return xValues[index];
+    }
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+
+        if (index > 0 && x <= xValues[index - 1]) {
+            throw new InappropriateFunctionPointException("Точка x= " + x + " должно быть больше предыдущей точки x= " + xValues[index - 1]);
+        }
+        if (index < pointsCount - 1 && x >= xValues[index + 1]) {
+            throw new InappropriateFunctionPointException("Точка x= " + x + " должно быть меньше следующей точки x= " + xValues[index + 1]);
+        }
+
+        xValues[index] = x;
+        uniformGrid = false;
+        updateCoefficients(index, index);
+    }
+    @Override
+    public double getPointY(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+        return yValues[index];
+    }
+    @Override
+    public void setPointY(int index, double y) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+        yValues[index] = y;
+        updateCoefficients(index, index);
+    }
+    @Override
+    public void deletePoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Индекс: " + index + ", Количество: " + pointsCount);
+        }
+
+        if (pointsCount < 3) {
+            throw new IllegalStateException("Невозможно удалить точку: требуется минимум 2 точки, текущая: " + pointsCount);
+        }
+
+        int tail = pointsCount - index - 1;
+        System.arraycopy(xValues, index + 1, xValues, index, tail);
+        System.arraycopy(yValues, index + 1, yValues, index, tail);
+        System.arraycopy(slopes, index + 1, slopes, index, tail);
+        System.arraycopy(quadratic, index + 1, quadratic, index, tail);
+        System.arraycopy(cubic, index + 1, cubic, index, tail);
+        pointsCount--;
+        uniformGrid = false;
+        // Новыми соседями стали точки index - 1 и index
+        updateCoefficients(Math.max(0, index - 1), Math.min(pointsCount - 1, index));
+    }
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+
+        // Бинарный поиск позиции вставки
+        int insertIndex = Arrays.binarySearch(xValues, 0, pointsCount, x);
+        if (insertIndex >= 0) {
+            throw new InappropriateFunctionPointException("Точка с х= " + x + " уже существует по индексу " + insertIndex);
+        }
+        insertIndex = -insertIndex - 1;
+
+        if (pointsCount >= xValues.length) {
+            // Геометрический рост, чтобы серия вставок не копировала массивы на каждом шаге
+            int newCapacity = xValues.length + (xValues.length >> 1) + 1;
+            xValues = Arrays.copyOf(xValues, newCapacity);
+            yValues = Arrays.copyOf(yValues, newCapacity);
+            slopes = Arrays.copyOf(slopes, newCapacity);
+            quadratic = Arrays.copyOf(quadratic, newCapacity);
+            cubic = Arrays.copyOf(cubic, newCapacity);
+        }
+
+        int tail = pointsCount - insertIndex;
+        System.arraycopy(xValues, insertIndex, xValues, insertIndex + 1, tail);
+        System.arraycopy(yValues, insertIndex, yValues, insertIndex + 1, tail);
+        System.arraycopy(slopes, insertIndex, slopes, insertIndex + 1, tail);
+        System.arraycopy(quadratic, insertIndex, quadratic, insertIndex + 1, tail);
+        System.arraycopy(cubic, insertIndex, cubic, insertIndex + 1, tail);
+        xValues[insertIndex] = x;
+        yValues[insertIndex] = point.getY();
+        pointsCount++;
+        uniformGrid = false;
+        updateCoefficients(insertIndex, insertIndex);
+    }
+
+    // Пакетные операции: порядок проверяется один раз, данные сдвигаются одним проходом,
+    // коэффициенты пересчитываются один раз после изменения
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+        if (points.length == 0) {
+            return;
+        }
+
+        // Слияние в новые массивы; при совпадении X функция остаётся без изменений
+        int total = pointsCount + points.length;
+        double[] mergedX = new double[total];
+        double[] mergedY = new double[total];
+        int count = 0;
+        int k = 0;
+        for (int i = 0; i < pointsCount; i++) {
+            double x = xValues[i];
+            while (k < points.length && points[k].getX() < x) {
+                mergedX[count] = points[k].getX();
+                mergedY[count++] = points[k++].getY();
+            }
+            if (k < points.length && points[k].getX() == x) {
+                throw new InappropriateFunctionPointException("Точка с х= " + x + " уже существует по индексу " + i);
+            }
+            mergedX[count] = x;
+            mergedY[count++] = yValues[i];
+        }
+        while (k < points.length) {
+            mergedX[count] = points[k].getX();
+            mergedY[count++] = points[k++].getY();
+        }
+
+        xValues = mergedX;
+        yValues = mergedY;
+        pointsCount = total;
+        uniformGrid = false;
+        computeCoefficients();
+    }
+    @Override
+    public void deletePoints(int from, int to) {
+        if (from < 0 || to > pointsCount || from > to) {
+            throw new FunctionPointIndexOutOfBoundsException("Диапазон: [" + from + ", " + to + "), Количество: " + pointsCount);
+        }
+        int remaining = pointsCount - (to - from);
+        if (remaining < 2) {
+            throw new IllegalStateException("Невозможно удалить точки: требуется минимум 2 точки, останется: " + remaining);
+        }
+        if (from == to) {
+            return;
+        }
+
+        int tail = pointsCount - to;
+        System.arraycopy(xValues, to, xValues, from, tail);
+        System.arraycopy(yValues, to, yValues, from, tail);
+        System.arraycopy(slopes, to, slopes, from, tail);
+        System.arraycopy(quadratic, to, quadratic, from, tail);
+        System.arraycopy(cubic, to, cubic, from, tail);
+        pointsCount = remaining;
+        uniformGrid = false;
+        updateCoefficients(Math.max(0, from - 1), Math.min(pointsCount - 1, from));
+    }
+    @Override
+    public void setPointsY(double[] values) {
+        if (values.length != pointsCount) {
+            throw new IllegalArgumentException("Количество значений " + values.length + " не совпадает с количеством точек " + pointsCount);
+        }
+        System.arraycopy(values, 0, yValues, 0, pointsCount);
+        computeCoefficients();
+    }
+    @Override
+    public void transformPointsY(DoubleUnaryOperator operator) {
+        for (int i = 0; i < pointsCount; i++) {
+            yValues[i] = operator.applyAsDouble(yValues[i]);
+        }
+        computeCoefficients();
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (int i = 0; i < pointsCount; i++) {
+            consumer.accept(xValues[i], yValues[i]);
+        }
+    }
+
+    // Специальные методы для сериализации: записываются только координаты в том же виде,
+    // что у PrimitiveArrayTabulatedFunction; коэффициенты пересчитываются при чтении
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+        out.defaultWriteObject();
+        out.writeBoolean(uniformGrid);
+        if (uniformGrid) {
+            out.writeDouble(gridLeftX);
+            out.writeDouble(gridStep);
+        }
+        else {
+            out.writeUnshared(xValues.length == pointsCount ? xValues : Arrays.copyOf(xValues, pointsCount));
+        }
+        out.writeUnshared(yValues.length == pointsCount ? yValues : Arrays.copyOf(yValues, pointsCount));
+    }
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (pointsCount < 2) {
+            throw new java.io.InvalidObjectException("Некорректное количество точек: " + pointsCount);
+        }
+        if (in.readBoolean()) {
+            double leftX = in.readDouble();
+            double step = in.readDouble();
+            xValues = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                xValues[i] = leftX + i * step;
+            }
+            setUniformGrid(leftX, step);
+        }
+        else {
+            xValues = readValues(in);
+            for (int i = 1; i < pointsCount; i++) {
+                if (!(xValues[i] > xValues[i - 1])) {
+                    throw new java.io.InvalidObjectException("Точки должны быть упорядочены по возрастанию X");
+                }
+            }
+        }
+        yValues = readValues(in);
+        computeCoefficients();
+    }
+    private double[] readValues(java.io.ObjectInputStream in) throws java.io.IOException, ClassNotFoundException {
+        Object values = in.readUnshared();
+        if (!(values instanceof double[]) || ((double[]) values).length != pointsCount) {
+            throw new java.io.InvalidObjectException("Некорректный массив координат");
+        }
+        return (double[]) values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < pointsCount; i++) {
+            sb.append("(").append(xValues[i])
+                    .append("; ").append(yValues[i]).append(")");
+            if (i < pointsCount - 1) {
+                sb.append(", ");
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TabulatedFunction)) return false;
+
+        TabulatedFunction other = (TabulatedFunction) o;
+
+        // Быстрая проверка для SplineTabulatedFunction
+        if (o instanceof SplineTabulatedFunction) {
+            SplineTabulatedFunction otherSpline = (SplineTabulatedFunction) o;
+
+            if (this.pointsCount != otherSpline.pointsCount) return false;
+
+            // Прямое сравнение массивов координат с той же точностью, что и FunctionPoint.equals
+            final double EPSILON = 1e-10;
+            for (int i = 0; i < pointsCount; i++) {
+                if (Math.abs(this.xValues[i] - otherSpline.xValues[i]) >= EPSILON
+                        || Math.abs(this.yValues[i] - otherSpline.yValues[i]) >= EPSILON) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Общий случай для любого TabulatedFunction
+        if (this.getPointsCount() != other.getPointsCount()) return false;
+
+        for (int i = 0; i < pointsCount; i++) {
+            FunctionPoint thisPoint = this.getPoint(i);
+            FunctionPoint otherPoint = other.getPoint(i);
+
+            if (!thisPoint.equals(otherPoint)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    @Override
+    public int hashCode() {
+        int hash = pointsCount; // Начинаем с количества точек
+
+        for (int i = 0; i < pointsCount; i++) {
+            // Тот же хэш, что и у FunctionPoint, без создания объекта точки
+            long xBits = Double.doubleToLongBits(xValues[i]);
+            long yBits = Double.doubleToLongBits(yValues[i]);
+            hash ^= (int) (xBits ^ (xBits >>> 32)) ^ (int) (yBits ^ (yBits >>> 32));
+        }
+
+        return hash;
+    }
+    @Override
+    public Object clone() {
+        try {
+            SplineTabulatedFunction cloned = (SplineTabulatedFunction) super.clone();
+
+            // Копирование массивов координат и коэффициентов
+            cloned.xValues = Arrays.copyOf(this.xValues, this.pointsCount);
+            cloned.yValues = Arrays.copyOf(this.yValues, this.pointsCount);
+            cloned.slopes = Arrays.copyOf(this.slopes, this.pointsCount);
+            cloned.quadratic = Arrays.copyOf(this.quadratic, this.pointsCount);
+            cloned.cubic = Arrays.copyOf(this.cubic, this.pointsCount);
+
+            return cloned;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Клонирование не поддерживается", e);
+        }
+    }
+
+    @Override
+    public Iterator<FunctionPoint> iterator() {
+        return new Iterator<FunctionPoint>() {
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < pointsCount;
+            }
+
+            @Override
+            public FunctionPoint next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("Нет следующего элемента");
+                }
+                // Возвращаем новую точку, чтобы нельзя было изменить массивы функции
+                FunctionPoint point = new FunctionPoint(xValues[currentIndex], yValues[currentIndex]);
+                currentIndex++;
+                return point;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Удаление не поддерживается");
+            }
+        };
+    }
+    // Вложенный класс фабрики
+    public static class SplineTabulatedFunctionFactory extends AdoptingTabulatedFunctionFactory {
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount) {
+            return new SplineTabulatedFunction(leftX, rightX, pointsCount);
+        }
+        @Override
+        public TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values) {
+            return new SplineTabulatedFunction(leftX, rightX, values);
+        }
+        @Override
+        public TabulatedFunction createTabulatedFunction(FunctionPoint[] points) {
+            return new SplineTabulatedFunction(points);
+        }
+        @Override
+        public TabulatedFunction createTabulatedFunction(double[] xValues, double[] yValues) {
+            return new SplineTabulatedFunction(xValues, yValues);
+        }
+        @Override
+        TabulatedFunction adoptTabulatedFunction(double[] xValues, double[] yValues) {
+            return new SplineTabulatedFunction(checkCoordinates(xValues, yValues), xValues, yValues);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package functions;
 
 import java.io.Serializable;
+import java.util.function.DoubleUnaryOperator;
 
 public interface TabulatedFunction extends Function, Serializable, Cloneable, Iterable<FunctionPoint> {
     int getPointsCount();
@@ -13,4 +14,57 @@ public interface TabulatedFunction extends Function, Serializable, Cloneable, It
     void deletePoint(int index);
     void addPoint(FunctionPoint point) throws InappropriateFunctionPointException;
     Object clone();
+
+    // Обход точек по возрастанию X без создания объектов FunctionPoint
+    default void forEachPoint(PointConsumer consumer) {
+        int count = getPointsCount();
+        for (int i = 0; i < count; i++) {
+            consumer.accept(getPointX(i), getPointY(i));
+        }
+    }
+
+    // Пакетные операции. Реализации по умолчанию работают через одиночные методы,
+    // табулированные функции пакета functions переопределяют их одним проходом по данным
+
+    // Добавление набора точек, упорядоченного по возрастанию X.
+    // Если X одной из точек уже есть в функции, выбрасывается InappropriateFunctionPointException
+    default void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX()) {
+                throw new IllegalArgumentException("Точки должны быть упорядочены по возрастанию X");
+            }
+        }
+        for (FunctionPoint point : points) {
+            addPoint(point);
+        }
+    }
+    // Удаление точек с индексами from (включительно) .. to (не включительно)
+    default void deletePoints(int from, int to) {
+        int count = getPointsCount();
+        if (from < 0 || to > count || from > to) {
+            throw new FunctionPointIndexOutOfBoundsException("Диапазон: [" + from + ", " + to + "), Количество: " + count);
+        }
+        if (count - (to - from) < 2) {
+            throw new IllegalStateException("Невозможно удалить точки: требуется минимум 2 точки, останется: " + (count - (to - from)));
+        }
+        for (int i = to - 1; i >= from; i--) {
+            deletePoint(i);
+        }
+    }
+    // Замена всех значений Y; длина массива должна совпадать с количеством точек
+    default void setPointsY(double[] values) {
+        if (values.length != getPointsCount()) {
+            throw new IllegalArgumentException("Количество значений " + values.length + " не совпадает с количеством точек " + getPointsCount());
+        }
+        for (int i = 0; i < values.length; i++) {
+            setPointY(i, values[i]);
+        }
+    }
+    // Замена каждого значения Y результатом operator(y)
+    default void transformPointsY(DoubleUnaryOperator operator) {
+        int count = getPointsCount();
+        for (int i = 0; i < count; i++) {
+            setPointY(i, operator.applyAsDouble(getPointY(i)));
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package functions;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+// Конструкторы класса табулированной функции для методов TabulatedFunctions с параметром Class<?>.
+// Проверка интерфейса и поиск трёх конструкторов выполняются один раз для каждого класса
+// (ClassValue хранит результат вместе с самим классом), дальше объект создаётся вызовом
+// MethodHandle.invokeExact без упаковки аргументов в Object[].
+// Сообщения и причины исключений те же, что при вызове Constructor.newInstance
+final class TabulatedFunctionConstructors {
+    private static final ClassValue<TabulatedFunctionConstructors> CONSTRUCTORS = new ClassValue<TabulatedFunctionConstructors>() {
+        @Override
+        protected TabulatedFunctionConstructors computeValue(Class<?> type) {
+            return new TabulatedFunctionConstructors(type);
+        }
+    };
+
+    private static final MethodType BY_COUNT = MethodType.methodType(TabulatedFunction.class, double.class, double.class, int.class);
+    private static final MethodType BY_VALUES = MethodType.methodType(TabulatedFunction.class, double.class, double.class, double[].class);
+    private static final MethodType BY_POINTS = MethodType.methodType(TabulatedFunction.class, FunctionPoint[].class);
+
+    private final Class<?> type;
+    private final boolean tabulated;
+    private final Shape byCount;
+    private final Shape byValues;
+    private final Shape byPoints;
+
+    private TabulatedFunctionConstructors(Class<?> type) {
+        this.type = type;
+        this.tabulated = TabulatedFunction.class.isAssignableFrom(type);
+        this.byCount = new Shape(BY_COUNT, "(double, double, int)");
+        this.byValues = new Shape(BY_VALUES, "(double, double, double[])");
+        this.byPoints = new Shape(BY_POINTS, "(FunctionPoint[])");
+    }
+
+    static TabulatedFunctionConstructors of(Class<?> type) {
+        TabulatedFunctionConstructors constructors = CONSTRUCTORS.get(type);
+        if (!constructors.tabulated) {
+            throw new IllegalArgumentException(
+                    "Класс " + type.getName() + " не реализует интерфейс TabulatedFunction");
+        }
+        return constructors;
+    }
+
+    TabulatedFunction create(double leftX, double rightX, int pointsCount) {
+        MethodHandle constructor = byCount.resolve();
+        try {
+            return (TabulatedFunction) constructor.invokeExact(leftX, rightX, pointsCount);
+        } catch (Throwable e) {
+            throw constructorFailure(e);
+        }
+    }
+
+    TabulatedFunction create(double leftX, double rightX, double[] values) {
+        MethodHandle constructor = byValues.resolve();
+        try {
+            return (TabulatedFunction) constructor.invokeExact(leftX, rightX, values);
+        } catch (Throwable e) {
+            throw constructorFailure(e);
+        }
+    }
+
+    TabulatedFunction create(FunctionPoint[] points) {
+        MethodHandle constructor = byPoints.resolve();
+        try {
+            return (TabulatedFunction) constructor.invokeExact(points);
+        } catch (Throwable e) {
+            throw constructorFailure(e);
+        }
+    }
+
+    // Исключение конструктора оборачивается так же, как в Constructor.newInstance
+    private IllegalArgumentException constructorFailure(Throwable cause) {
+        return new IllegalArgumentException("Ошибка при создании объекта класса " + type.getName(),
+                new InvocationTargetException(cause));
+    }
+
+    // Конструктор одного вида: MethodHandle либо причина, по которой его нельзя вызвать.
+    // Как и Class.getConstructor, учитываются только открытые конструкторы; для абстрактного
+    // или недоступного класса ошибка создания выдаётся при каждом вызове
+    private final class Shape {
+        private final String signature;
+        private final MethodHandle handle;
+        private final ReflectiveOperationException failure;
+
+        Shape(MethodType shape, String signature) {
+            this.signature = signature;
+            MethodHandle handle = null;
+            ReflectiveOperationException failure = null;
+            if (tabulated) {
+                try {
+                    Constructor<?> constructor = type.getConstructor(shape.parameterArray());
+                    if (Modifier.isAbstract(type.getModifiers())) {
+                        throw new InstantiationException(type.getName());
+                    }
+                    // Доступ проверяется из пакета functions, как у newInstance из TabulatedFunctions
+                    handle = MethodHandles.lookup().unreflectConstructor(constructor).asType(shape);
+                } catch (ReflectiveOperationException e) {
+                    failure = e;
+                }
+            }
+            this.handle = handle;
+            this.failure = failure;
+        }
+
+        MethodHandle resolve() {
+            if (handle != null) {
+                return handle;
+            }
+            String name = type.getName();
+            if (failure instanceof NoSuchMethodException) {
+                throw new IllegalArgumentException("Класс " + name + " не имеет конструктора " + signature, failure);
+            }
+            throw new IllegalArgumentException("Ошибка при создании объекта класса " + name, failure);
+        }
+    }
+}
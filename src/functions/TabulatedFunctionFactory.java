@@ -4,4 +4,19 @@ public interface TabulatedFunctionFactory {
     TabulatedFunction createTabulatedFunction(double leftX, double rightX, int pointsCount);
     TabulatedFunction createTabulatedFunction(double leftX, double rightX, double[] values);
     TabulatedFunction createTabulatedFunction(FunctionPoint[] points);
+
+    // Создание по массивам координат X и Y одинаковой длины (X по возрастанию).
+    // Функция не должна зависеть от переданных массивов: их можно изменять после вызова.
+    // По умолчанию точки собираются в FunctionPoint[]; реализации на примитивных массивах
+    // переопределяют метод, чтобы не создавать промежуточные объекты
+    default TabulatedFunction createTabulatedFunction(double[] xValues, double[] yValues) {
+        if (xValues.length != yValues.length) {
+            throw new IllegalArgumentException("Массивы координат разной длины: " + xValues.length + " и " + yValues.length);
+        }
+        FunctionPoint[] points = new FunctionPoint[xValues.length];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new FunctionPoint(xValues[i], yValues[i]);
+        }
+        return createTabulatedFunction(points);
+    }
 }
@@ -1,13 +1,38 @@
 package functions;
 
 import java.io.*;
-import java.lang.reflect.Constructor;
-import java.util.StringTokenizer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class TabulatedFunctions {
     // Статическое поле для хранения текущей фабрики
     private static TabulatedFunctionFactory factory = new ArrayTabulatedFunction.ArrayTabulatedFunctionFactory();
 
+    // Размер буфера двоичного ввода-вывода (кратен размеру точки: два double)
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 16;
+    private static final int POINT_BYTES = 2 * Double.BYTES;
+    // Размер блока текстового вывода и запас на одну точку сверх него
+    private static final int TEXT_BLOCK_SIZE = 1 << 13;
+    private static final int TEXT_BLOCK_RESERVE = 64;
+    // Размер части массива значений при параллельном табулировании
+    private static final int TABULATE_CHUNK_POINTS = 1 << 14;
+    // Адаптивное табулирование: число отрезков начальной равномерной сетки и наибольшая глубина
+    // деления каждого из них пополам (шаг до 2^-29 длины отрезка). Глубина ограничивает только
+    // мельчайший шаг: сильно осциллирующей функции на каждом отрезке могут понадобиться все 2^24 узлов,
+    // поэтому общее число узлов ограничено отдельно (по умолчанию 2^20 узлов, 16 МБ координат)
+    private static final int ADAPTIVE_INITIAL_SEGMENTS = 32;
+    private static final int ADAPTIVE_MAX_DEPTH = 24;
+    private static final int ADAPTIVE_DEFAULT_MAX_POINTS = 1 << 20;
+
     // Метод для установки фабрики
     public static void setTabulatedFunctionFactory(TabulatedFunctionFactory factory) {
         TabulatedFunctions.factory = factory;
@@ -32,81 +57,31 @@ public class TabulatedFunctions {
         return factory.createTabulatedFunction(points);
     }
 
+    // Создание по массивам координат; массивы могут перейти во владение функции без копирования,
+    // поэтому метод доступен только внутри пакета и получает только что созданные массивы
+    static TabulatedFunction createTabulatedFunction(double[] xValues, double[] yValues) {
+        if (factory instanceof AdoptingTabulatedFunctionFactory) {
+            return ((AdoptingTabulatedFunctionFactory) factory).adoptTabulatedFunction(xValues, yValues);
+        }
+        return factory.createTabulatedFunction(xValues, yValues);
+    }
+
     // === МЕТОДЫ С ИСПОЛЬЗОВАНИЕМ РЕФЛЕКСИИ ===
+    // Конструкторы класса ищутся один раз и кэшируются (см. TabulatedFunctionConstructors)
 
     public static TabulatedFunction createTabulatedFunction(
             Class<?> clazz, double leftX, double rightX, int pointsCount) {
-
-        // Проверяем, что класс реализует TabulatedFunction
-        if (!TabulatedFunction.class.isAssignableFrom(clazz)) {
-            throw new IllegalArgumentException(
-                    "Класс " + clazz.getName() + " не реализует интерфейс TabulatedFunction");
-        }
-
-        try {
-            // Находим конструктор с параметрами (double, double, int)
-            Constructor<?> constructor = clazz.getConstructor(double.class, double.class, int.class);
-
-            // Создаем объект с помощью конструктора
-            return (TabulatedFunction) constructor.newInstance(leftX, rightX, pointsCount);
-
-        } catch (NoSuchMethodException e) {
-            throw new IllegalArgumentException(
-                    "Класс " + clazz.getName() + " не имеет конструктора (double, double, int)", e);
-        } catch (Exception e) {
-            throw new IllegalArgumentException(
-                    "Ошибка при создании объекта класса " + clazz.getName(), e);
-        }
+        return TabulatedFunctionConstructors.of(clazz).create(leftX, rightX, pointsCount);
     }
 
     public static TabulatedFunction createTabulatedFunction(
             Class<?> clazz, double leftX, double rightX, double[] values) {
-
-        // Проверяем, что класс реализует TabulatedFunction
-        if (!TabulatedFunction.class.isAssignableFrom(clazz)) {
-            throw new IllegalArgumentException(
-                    "Класс " + clazz.getName() + " не реализует интерфейс TabulatedFunction");
-        }
-
-        try {
-            // Находим конструктор с параметрами (double, double, double[])
-            Constructor<?> constructor = clazz.getConstructor(double.class, double.class, double[].class);
-
-            // Создаем объект с помощью конструктора
-            return (TabulatedFunction) constructor.newInstance(leftX, rightX, values);
-
-        } catch (NoSuchMethodException e) {
-            throw new IllegalArgumentException(
-                    "Класс " + clazz.getName() + " не имеет конструктора (double, double, double[])", e);
-        } catch (Exception e) {
-            throw new IllegalArgumentException(
-                    "Ошибка при создании объекта класса " + clazz.getName(), e);
-        }
+        return TabulatedFunctionConstructors.of(clazz).create(leftX, rightX, values);
     }
 
     public static TabulatedFunction createTabulatedFunction(
             Class<?> clazz, FunctionPoint[] points) {
-
-        // Проверяем, что класс реализует TabulatedFunction
-        if (!TabulatedFunction.class.isAssignableFrom(clazz)) {
-            throw new IllegalArgumentException(
-                    "Класс " + clazz.getName() + " не реализует интерфейс TabulatedFunction");
-        }
-
-        try {
-            // Находим конструктор с параметрами (FunctionPoint[])
-            Constructor<?> constructor = clazz.getConstructor(FunctionPoint[].class);
-
-            // Создаем объект с помощью конструктора
-            return (TabulatedFunction) constructor.newInstance((Object) points);
-
-        } catch (NoSuchMethodException e) {
-            throw new IllegalArgumentException(
-                    "Класс " + clazz.getName() + " не имеет конструктора (FunctionPoint[])", e);
-        } catch (Exception e) {
-            throw new IllegalArgumentException(
-                    "Ошибка при создании объекта класса " + clazz.getName(), e);
-        }
+        return TabulatedFunctionConstructors.of(clazz).create(points);
     }
 
     // === ПЕРЕГРУЖЕННЫЕ ВЕРСИИ tabulate С РЕФЛЕКСИЕЙ ===
@@ -135,9 +110,10 @@ public class TabulatedFunctions {
         double[] values = new double[pointsCount];
         double step = (rightX - leftX) / (pointsCount - 1);
         for (int i = 0; i < pointsCount; i++) {
-            double x = leftX + i * step;
-            values[i] = function.getFunctionValue(x);
+            values[i] = leftX + i * step;
         }
+        // Пакетное вычисление на месте: аргументы заменяются значениями функции
+        function.evaluate(values, values);
 
         // Используем рефлексию для создания объекта
         return createTabulatedFunction(clazz, leftX, rightX, values);
@@ -167,25 +143,240 @@ public class TabulatedFunctions {
         double[] values = new double[pointsCount];
         double step = (rightX - leftX) / (pointsCount - 1);
         for (int i = 0; i < pointsCount; i++) {
-            double x = leftX + i * step;
-            values[i] = function.getFunctionValue(x);
+            values[i] = leftX + i * step;
         }
+        // Пакетное вычисление на месте: аргументы заменяются значениями функции
+        function.evaluate(values, values);
         // Используем фабрику вместо прямого создания
         return createTabulatedFunction(leftX, rightX, values);
     }
 
+    // === ПАРАЛЛЕЛЬНОЕ ТАБУЛИРОВАНИЕ ===
+    // Массив значений делится на части в пуле ForkJoinPool; каждая часть заполняет свой участок
+    // теми же аргументами leftX + i * step и вычисляет его пакетно, поэтому результат совпадает
+    // с последовательным tabulate бит в бит. Функция должна допускать вызов из нескольких потоков
+
+    public static TabulatedFunction tabulate(Function function, double leftX, double rightX, int pointsCount,
+                                             ForkJoinPool pool) {
+        return createTabulatedFunction(leftX, rightX, tabulateValues(function, leftX, rightX, pointsCount, pool));
+    }
+
+    public static TabulatedFunction tabulate(Class<?> clazz, Function function, double leftX, double rightX,
+                                             int pointsCount, ForkJoinPool pool) {
+        return createTabulatedFunction(clazz, leftX, rightX, tabulateValues(function, leftX, rightX, pointsCount, pool));
+    }
+
+    private static double[] tabulateValues(Function function, double leftX, double rightX, int pointsCount,
+                                           ForkJoinPool pool) {
+        // Проверка корректности параметров
+        if (pointsCount < 2) {
+            throw new IllegalArgumentException("Количество точек должно быть не менее 2: " + pointsCount);
+        }
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой: " + leftX + " >= " + rightX);
+        }
+
+        // Проверка области определения
+        double functionLeftBorder = function.getLeftDomainBorder();
+        double functionRightBorder = function.getRightDomainBorder();
+        if (leftX < functionLeftBorder || rightX > functionRightBorder) {
+            throw new IllegalArgumentException("Границы табулирования [" + leftX + ", " + rightX + "] " +
+                    "выходят за область определения функции [" + functionLeftBorder + ", " + functionRightBorder + "]"
+            );
+        }
+
+        double[] values = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+        TabulationChunk task = new TabulationChunk(function, leftX, step, values, 0, pointsCount);
+        pool.invoke(task);
+        // Исключение выбрасывается в вызывающем потоке в исходном виде, как при последовательном табулировании
+        if (task.failure != null) {
+            throw task.failure;
+        }
+        return values;
+    }
+
+    // Участок [from, to) массива значений; failure - исключение самой левой из неудачных частей
+    private static class TabulationChunk extends RecursiveAction {
+        private final Function function;
+        private final double leftX;
+        private final double step;
+        private final double[] values;
+        private final int from;
+        private final int to;
+        private RuntimeException failure;
+
+        TabulationChunk(Function function, double leftX, double step, double[] values, int from, int to) {
+            this.function = function;
+            this.leftX = leftX;
+            this.step = step;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TABULATE_CHUNK_POINTS) {
+                for (int i = from; i < to; i++) {
+                    values[i] = leftX + i * step;
+                }
+                try {
+                    function.evaluate(values, from, values, from, to - from);
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+                return;
+            }
+            // Делим по границе, кратной размеру части, чтобы разбиение было одинаковым всегда
+            int chunks = (int) (((long) to - from + TABULATE_CHUNK_POINTS - 1) / TABULATE_CHUNK_POINTS);
+            int middle = from + (chunks / 2) * TABULATE_CHUNK_POINTS;
+            TabulationChunk left = new TabulationChunk(function, leftX, step, values, from, middle);
+            TabulationChunk right = new TabulationChunk(function, leftX, step, values, middle, to);
+            right.fork();
+            left.compute();
+            right.join();
+            failure = left.failure != null ? left.failure : right.failure;
+        }
+    }
+
+    // === АДАПТИВНОЕ ТАБУЛИРОВАНИЕ ===
+    // Узлы расставляются делением отрезков начальной сетки пополам: отрезок делится, пока значение
+    // в его середине или четвертях отличается от линейной интерполяции по концам больше чем на maxError.
+    // Проверочные точки принятого отрезка в таблицу не попадают. Около полюса или границы, где
+    // конечные значения чередуются с бесконечными или NaN, отрезок делится до предельной глубины.
+    // Функция создаётся текущей фабрикой; число использованных узлов возвращает getPointsCount().
+    // Если для заданной погрешности нужно больше maxPoints узлов (по умолчанию 2^20),
+    // выбрасывается IllegalArgumentException
+    public static TabulatedFunction tabulateAdaptive(Function function, double leftX, double rightX, double maxError) {
+        return tabulateAdaptive(function, leftX, rightX, maxError, ADAPTIVE_DEFAULT_MAX_POINTS);
+    }
+
+    public static TabulatedFunction tabulateAdaptive(Function function, double leftX, double rightX, double maxError,
+                                                     int maxPoints) {
+        if (leftX >= rightX) {
+            throw new IllegalArgumentException("Левая граница должна быть меньше правой: " + leftX + " >= " + rightX);
+        }
+        if (!(maxError > 0)) {
+            throw new IllegalArgumentException("Допустимая погрешность должна быть положительной: " + maxError);
+        }
+        if (maxPoints < 2) {
+            throw new IllegalArgumentException("Количество баллов должно быть не менее 2: " + maxPoints);
+        }
+
+        // Проверка области определения
+        double functionLeftBorder = function.getLeftDomainBorder();
+        double functionRightBorder = function.getRightDomainBorder();
+        if (leftX < functionLeftBorder || rightX > functionRightBorder) {
+            throw new IllegalArgumentException("Границы табулирования [" + leftX + ", " + rightX + "] " +
+                    "выходят за область определения функции [" + functionLeftBorder + ", " + functionRightBorder + "]"
+            );
+        }
+
+        AdaptiveNodes nodes = new AdaptiveNodes(Math.min(4 * ADAPTIVE_INITIAL_SEGMENTS, maxPoints), maxPoints, maxError);
+        double step = (rightX - leftX) / ADAPTIVE_INITIAL_SEGMENTS;
+        double a = leftX;
+        double fa = function.getFunctionValue(a);
+        nodes.add(a, fa);
+        for (int i = 1; i <= ADAPTIVE_INITIAL_SEGMENTS; i++) {
+            double b = i == ADAPTIVE_INITIAL_SEGMENTS ? rightX : leftX + i * step;
+            // На отрезке в несколько ulp узлы сетки могут совпасть
+            if (b <= a || (i < ADAPTIVE_INITIAL_SEGMENTS && b >= rightX)) {
+                continue;
+            }
+            double fb = function.getFunctionValue(b);
+            double fm = function.getFunctionValue(a + (b - a) * 0.5);
+            bisect(function, a, fa, b, fb, fm, maxError, ADAPTIVE_MAX_DEPTH, nodes);
+            nodes.add(b, fb);
+            a = b;
+            fa = fb;
+        }
+        return createTabulatedFunction(nodes.xValues(), nodes.yValues());
+    }
+
+    // Добавляет узлы строго внутри (a, b) по возрастанию X; fm - значение в середине отрезка.
+    // Отклонение проверяется в середине и в четвертях: по одной середине отрезок, симметричный
+    // относительно точки перегиба (например, синус вокруг нуля), был бы ошибочно принят
+    private static void bisect(Function function, double a, double fa, double b, double fb, double fm,
+                               double maxError, int depth, AdaptiveNodes nodes) {
+        double m = a + (b - a) * 0.5;
+        double q1 = a + (m - a) * 0.5;
+        double q3 = m + (b - m) * 0.5;
+        if (depth == 0 || q1 <= a || m <= q1 || q3 <= m || b <= q3) {
+            return;
+        }
+        double fq1 = function.getFunctionValue(q1);
+        double fq3 = function.getFunctionValue(q3);
+        boolean split = exceeds(fa, fb, fq1, 0.25, maxError)
+                || exceeds(fa, fb, fm, 0.5, maxError)
+                || exceeds(fa, fb, fq3, 0.75, maxError);
+        if (!split) {
+            return;
+        }
+        bisect(function, a, fa, m, fm, fq1, maxError, depth - 1, nodes);
+        nodes.add(m, fm);
+        bisect(function, m, fm, b, fb, fq3, maxError, depth - 1, nodes);
+    }
+
+    // Отклонение значения в точке a + t * (b - a) от хорды больше maxError; если конечные значения
+    // чередуются с бесконечными или NaN, отрезок тоже делится, а без конечных значений интерполировать нечего
+    private static boolean exceeds(double fa, double fb, double value, double t, double maxError) {
+        boolean finiteA = Double.isFinite(fa);
+        boolean finiteB = Double.isFinite(fb);
+        boolean finite = Double.isFinite(value);
+        if (finiteA && finiteB && finite) {
+            return Math.abs(value - (fa * (1 - t) + fb * t)) > maxError;
+        }
+        return finiteA || finiteB || finite;
+    }
+
+    // Расширяемые массивы координат узлов не длиннее maxPoints
+    private static class AdaptiveNodes {
+        private final int maxPoints;
+        private final double maxError;
+        private double[] xs;
+        private double[] ys;
+        private int count;
+
+        AdaptiveNodes(int capacity, int maxPoints, double maxError) {
+            this.maxPoints = maxPoints;
+            this.maxError = maxError;
+            xs = new double[capacity];
+            ys = new double[capacity];
+        }
+
+        void add(double x, double y) {
+            if (count == maxPoints) {
+                throw new IllegalArgumentException("Для погрешности " + maxError
+                        + " требуется больше " + maxPoints + " узлов");
+            }
+            if (count == xs.length) {
+                int capacity = (int) Math.min(2L * count, maxPoints);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+            }
+            xs[count] = x;
+            ys[count] = y;
+            count++;
+        }
+
+        double[] xValues() {
+            return Arrays.copyOf(xs, count);
+        }
+
+        double[] yValues() {
+            return Arrays.copyOf(ys, count);
+        }
+    }
+
     // === СУЩЕСТВУЮЩИЕ МЕТОДЫ СЕРИАЛИЗАЦИИ ===
 
+    // Формат: int количество точек, затем пары double (x, y); порядок байтов big-endian,
+    // как у DataOutputStream. Данные передаются блоками через ByteBuffer
     public static void outputTabulatedFunction(TabulatedFunction function, OutputStream out) {
-        DataOutputStream dataOut = new DataOutputStream(out);
         try {
-            int pointsCount = function.getPointsCount();
-            dataOut.writeInt(pointsCount);
-            for (int i = 0; i < pointsCount; i++) {
-                dataOut.writeDouble(function.getPointX(i));
-                dataOut.writeDouble(function.getPointY(i));
-            }
-            dataOut.flush();
+            writeCoordinates(function, Channels.newChannel(out), false);
+            out.flush();
         }
         catch (IOException e) {
             throw new RuntimeException("Ошибка при выводе табулированной функции", e);
@@ -193,144 +384,311 @@ public class TabulatedFunctions {
     }
 
     public static TabulatedFunction inputTabulatedFunction(InputStream in) {
-        DataInputStream dataIn = new DataInputStream(in);
         try {
-            int pointsCount = dataIn.readInt();
-            if (pointsCount < 2) {
-                throw new RuntimeException("Некорректное количество точек: " + pointsCount);
-            }
-            FunctionPoint[] points = new FunctionPoint[pointsCount];
-            for (int i = 0; i < pointsCount; i++) {
-                double x = dataIn.readDouble();
-                double y = dataIn.readDouble();
-                points[i] = new FunctionPoint(x, y);
-            }
+            double[][] coordinates = readCoordinates(Channels.newChannel(in), false);
             // Используем фабрику вместо прямого создания
-            return createTabulatedFunction(points);
+            return createTabulatedFunction(coordinates[0], coordinates[1]);
         }
         catch (IOException e) {
             throw new RuntimeException("Ошибка при вводе табулированной функции", e);
         }
     }
 
-    // === ДОПОЛНИТЕЛЬНЫЙ МЕТОД inputTabulatedFunction С РЕФЛЕКСИЕЙ ===
+    // === ДВОИЧНЫЙ ВВОД-ВЫВОД ЧЕРЕЗ КАНАЛЫ (например, FileChannel) ===
+    // directBuffer - буфер вне кучи: канал файла работает с ним без промежуточного копирования
 
-    public static TabulatedFunction inputTabulatedFunction(Class<?> clazz, InputStream in) {
-        DataInputStream dataIn = new DataInputStream(in);
+    public static void outputTabulatedFunction(TabulatedFunction function, WritableByteChannel out, boolean directBuffer) {
         try {
-            int pointsCount = dataIn.readInt();
-            if (pointsCount < 2) {
-                throw new RuntimeException("Некорректное количество точек: " + pointsCount);
-            }
-            FunctionPoint[] points = new FunctionPoint[pointsCount];
-            for (int i = 0; i < pointsCount; i++) {
-                double x = dataIn.readDouble();
-                double y = dataIn.readDouble();
-                points[i] = new FunctionPoint(x, y);
-            }
-            // Используем рефлексию для создания объекта
-            return createTabulatedFunction(clazz, points);
+            writeCoordinates(function, out, directBuffer);
         }
         catch (IOException e) {
-            throw new RuntimeException("Ошибка при вводе табулированной функции", e);
+            throw new RuntimeException("Ошибка при выводе табулированной функции", e);
         }
     }
 
-    public static void writeTabulatedFunction(TabulatedFunction function, Writer out) {
-        PrintWriter writer = new PrintWriter(new BufferedWriter(out));
+    public static TabulatedFunction inputTabulatedFunction(ReadableByteChannel in, boolean directBuffer) {
         try {
-            int pointsCount = function.getPointsCount();
-            writer.print(pointsCount);
+            double[][] coordinates = readCoordinates(in, directBuffer);
+            // Используем фабрику вместо прямого создания
+            return createTabulatedFunction(coordinates[0], coordinates[1]);
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Ошибка при вводе табулированной функции", e);
+        }
+    }
 
-            for (int i = 0; i < pointsCount; i++) {
-                writer.print(" " + function.getPointX(i));
-                writer.print(" " + function.getPointY(i));
+    private static void writeCoordinates(TabulatedFunction function, WritableByteChannel out, boolean directBuffer) throws IOException {
+        ByteBuffer buffer = directBuffer ? ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE) : ByteBuffer.allocate(CHANNEL_BUFFER_SIZE);
+        double[] block = new double[CHANNEL_BUFFER_SIZE / Double.BYTES];
+        int pointsCount = function.getPointsCount();
+        buffer.putInt(pointsCount);
+
+        int done = 0;
+        while (done < pointsCount) {
+            if (buffer.remaining() < POINT_BYTES) {
+                buffer.flip();
+                writeFully(out, buffer);
+                buffer.clear();
             }
-            writer.flush();
-        } catch (Exception e) {
-            throw new RuntimeException("Ошибка при записи табулированной функции", e);
+            // Точки собираются в массив и переносятся в буфер одной операцией
+            int count = Math.min(pointsCount - done, buffer.remaining() / POINT_BYTES);
+            for (int i = 0; i < count; i++) {
+                block[2 * i] = function.getPointX(done + i);
+                block[2 * i + 1] = function.getPointY(done + i);
+            }
+            buffer.asDoubleBuffer().put(block, 0, 2 * count);
+            buffer.position(buffer.position() + count * POINT_BYTES);
+            done += count;
         }
+        buffer.flip();
+        writeFully(out, buffer);
     }
 
-    public static TabulatedFunction readTabulatedFunction(Reader in) {
-        // Используем StringTokenizer вместо StreamTokenizer для упрощения
-        try (BufferedReader reader = new BufferedReader(in)) {
-            String line = reader.readLine();
-            if (line == null) {
-                throw new RuntimeException("Пустой ввод");
-            }
+    // Читает ровно столько байт, сколько занимает функция, поэтому поток после неё не затрагивается
+    private static double[][] readCoordinates(ReadableByteChannel in, boolean directBuffer) throws IOException {
+        ByteBuffer buffer = directBuffer ? ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE) : ByteBuffer.allocate(CHANNEL_BUFFER_SIZE);
+        buffer.limit(Integer.BYTES);
+        readFully(in, buffer);
+        int pointsCount = buffer.getInt(0);
+        if (pointsCount < 2) {
+            throw new RuntimeException("Некорректное количество точек: " + pointsCount);
+        }
 
-            StringTokenizer tokenizer = new StringTokenizer(line);
-            if (!tokenizer.hasMoreTokens()) {
-                throw new RuntimeException("Ожидалось количество точек");
+        double[] xValues = new double[pointsCount];
+        double[] yValues = new double[pointsCount];
+        double[] block = new double[CHANNEL_BUFFER_SIZE / Double.BYTES];
+        int done = 0;
+        while (done < pointsCount) {
+            int count = Math.min(pointsCount - done, CHANNEL_BUFFER_SIZE / POINT_BYTES);
+            buffer.clear();
+            buffer.limit(count * POINT_BYTES);
+            readFully(in, buffer);
+            buffer.flip();
+            buffer.asDoubleBuffer().get(block, 0, 2 * count);
+            for (int i = 0; i < count; i++) {
+                xValues[done + i] = block[2 * i];
+                yValues[done + i] = block[2 * i + 1];
             }
+            done += count;
+        }
+        return new double[][] {xValues, yValues};
+    }
 
-            int pointsCount = Integer.parseInt(tokenizer.nextToken());
-            if (pointsCount < 2) {
-                throw new RuntimeException("Некорректное количество точек: " + pointsCount);
+    private static void readFully(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                throw new EOFException("Неожиданный конец данных табулированной функции");
             }
+        }
+    }
 
-            FunctionPoint[] points = new FunctionPoint[pointsCount];
-            for (int i = 0; i < pointsCount; i++) {
-                if (!tokenizer.hasMoreTokens()) {
-                    throw new RuntimeException("Ожидалась координата X точки " + i);
-                }
-                double x = Double.parseDouble(tokenizer.nextToken());
+    private static void writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
 
-                if (!tokenizer.hasMoreTokens()) {
-                    throw new RuntimeException("Ожидалась координата Y точки " + i);
-                }
-                double y = Double.parseDouble(tokenizer.nextToken());
+    // === СЖАТЫЙ ПОКОЛОНОЧНЫЙ ФОРМАТ (см. CompressedTabulatedCodec) ===
+    // Равномерная сетка X хранится границами и шагом, Y сжимается по блокам;
+    // индекс блоков позволяет читать только часть функции
+
+    public static void outputCompressedTabulatedFunction(TabulatedFunction function, WritableByteChannel out) {
+        try {
+            CompressedTabulatedCodec.write(function, out);
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Ошибка при выводе табулированной функции", e);
+        }
+    }
+
+    public static void outputCompressedTabulatedFunction(TabulatedFunction function, Path file) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CompressedTabulatedCodec.write(function, channel);
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Ошибка при выводе табулированной функции", e);
+        }
+    }
 
-                points[i] = new FunctionPoint(x, y);
+    public static TabulatedFunction inputCompressedTabulatedFunction(ReadableByteChannel in) {
+        try {
+            double[][] coordinates = CompressedTabulatedCodec.read(in);
+            return createTabulatedFunction(coordinates[0], coordinates[1]);
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Ошибка при вводе табулированной функции", e);
+        }
+    }
+
+    public static TabulatedFunction inputCompressedTabulatedFunction(Path file) {
+        try (FileChannel channel = FileChannel.open(file)) {
+            double[][] coordinates = CompressedTabulatedCodec.read(channel);
+            return createTabulatedFunction(coordinates[0], coordinates[1]);
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Ошибка при вводе табулированной функции", e);
+        }
+    }
+
+    // Часть функции, достаточная для вычисления значений на [leftX, rightX]: точки отрезка
+    // и ближайшие к нему точки снаружи. Функция должна занимать канал от текущей позиции до конца
+    public static TabulatedFunction inputCompressedTabulatedFunction(SeekableByteChannel in, double leftX, double rightX) {
+        try {
+            double[][] coordinates = CompressedTabulatedCodec.read(in, leftX, rightX);
+            return createTabulatedFunction(coordinates[0], coordinates[1]);
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Ошибка при вводе табулированной функции", e);
+        }
+    }
+
+    public static TabulatedFunction inputCompressedTabulatedFunction(Path file, double leftX, double rightX) {
+        try (FileChannel channel = FileChannel.open(file)) {
+            return inputCompressedTabulatedFunction(channel, leftX, rightX);
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Ошибка при вводе табулированной функции", e);
+        }
+    }
+
+    // === ДОПОЛНИТЕЛЬНЫЙ МЕТОД inputTabulatedFunction С РЕФЛЕКСИЕЙ ===
+
+    public static TabulatedFunction inputTabulatedFunction(Class<?> clazz, InputStream in) {
+        try {
+            double[][] coordinates = readCoordinates(Channels.newChannel(in), false);
+            FunctionPoint[] points = new FunctionPoint[coordinates[0].length];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = new FunctionPoint(coordinates[0][i], coordinates[1][i]);
             }
-            // Используем фабрику вместо прямого создания
-            return createTabulatedFunction(points);
+            // Используем рефлексию для создания объекта
+            return createTabulatedFunction(clazz, points);
         }
         catch (IOException e) {
-            throw new RuntimeException("Ошибка при чтении табулированной функции", e);
+            throw new RuntimeException("Ошибка при вводе табулированной функции", e);
         }
-        catch (NumberFormatException e) {
-            throw new RuntimeException("Некорректный формат числа", e);
+    }
+
+    // Формат: количество точек, затем координаты X и Y каждой точки через пробел (Double.toString).
+    // Точки обходятся через forEachPoint и форматируются в один StringBuilder,
+    // который сбрасывается в приёмник блоками по TEXT_BLOCK_SIZE символов
+    public static void writeTabulatedFunction(TabulatedFunction function, Writer out) {
+        char[] chars = new char[TEXT_BLOCK_SIZE + TEXT_BLOCK_RESERVE];
+        try {
+            writeText(function, text -> {
+                text.getChars(0, text.length(), chars, 0);
+                out.write(chars, 0, text.length());
+            });
+            out.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка при записи табулированной функции", e);
         }
     }
 
+    // Текст состоит только из символов ASCII, поэтому кодируется в байты напрямую
+    public static void writeTabulatedFunction(TabulatedFunction function, WritableByteChannel out) {
+        char[] chars = new char[TEXT_BLOCK_SIZE + TEXT_BLOCK_RESERVE];
+        byte[] bytes = new byte[chars.length];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            writeText(function, text -> {
+                int length = text.length();
+                text.getChars(0, length, chars, 0);
+                for (int i = 0; i < length; i++) {
+                    bytes[i] = (byte) chars[i];
+                }
+                buffer.clear().limit(length);
+                writeFully(out, buffer);
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка при записи табулированной функции", e);
+        }
+    }
+
+    public static void writeTabulatedFunction(TabulatedFunction function, Path file) {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeTabulatedFunction(function, channel);
+        } catch (IOException e) {
+            throw new RuntimeException("Ошибка при записи табулированной функции", e);
+        }
+    }
+
+    // Приёмник очередного блока текста
+    private interface TextSink {
+        void write(StringBuilder text) throws IOException;
+    }
+
+    private static void writeText(TabulatedFunction function, TextSink sink) throws IOException {
+        StringBuilder text = new StringBuilder(TEXT_BLOCK_SIZE + TEXT_BLOCK_RESERVE);
+        text.append(function.getPointsCount());
+        try {
+            function.forEachPoint((x, y) -> {
+                // append(double) форматирует так же, как Double.toString, без промежуточной строки
+                text.append(' ').append(x).append(' ').append(y);
+                if (text.length() >= TEXT_BLOCK_SIZE) {
+                    try {
+                        sink.write(text);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    text.setLength(0);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        sink.write(text);
+    }
+
+    // Формат: количество точек и координаты точек через пробельные символы (в том числе переводы строк).
+    // Текст разбирается потоково, без чтения строки целиком и без создания строки на каждое число
+    public static TabulatedFunction readTabulatedFunction(Reader in) {
+        double[][] coordinates = parseCoordinates(in);
+        // Используем фабрику вместо прямого создания
+        return createTabulatedFunction(coordinates[0], coordinates[1]);
+    }
+
     // === ДОПОЛНИТЕЛЬНЫЙ МЕТОД readTabulatedFunction С РЕФЛЕКСИЕЙ ===
 
     public static TabulatedFunction readTabulatedFunction(Class<?> clazz, Reader in) {
-        // Используем StringTokenizer вместо StreamTokenizer для упрощения
-        try (BufferedReader reader = new BufferedReader(in)) {
-            String line = reader.readLine();
-            if (line == null) {
+        double[][] coordinates = parseCoordinates(in);
+        FunctionPoint[] points = new FunctionPoint[coordinates[0].length];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new FunctionPoint(coordinates[0][i], coordinates[1][i]);
+        }
+        // Используем рефлексию для создания объекта
+        return createTabulatedFunction(clazz, points);
+    }
+
+    private static double[][] parseCoordinates(Reader in) {
+        try (TabulatedTextReader reader = new TabulatedTextReader(in)) {
+            if (reader.isEmpty()) {
                 throw new RuntimeException("Пустой ввод");
             }
-
-            StringTokenizer tokenizer = new StringTokenizer(line);
-            if (!tokenizer.hasMoreTokens()) {
+            if (!reader.nextToken()) {
                 throw new RuntimeException("Ожидалось количество точек");
             }
 
-            int pointsCount = Integer.parseInt(tokenizer.nextToken());
+            int pointsCount = reader.tokenAsInt();
             if (pointsCount < 2) {
                 throw new RuntimeException("Некорректное количество точек: " + pointsCount);
             }
 
-            FunctionPoint[] points = new FunctionPoint[pointsCount];
+            double[] xValues = new double[pointsCount];
+            double[] yValues = new double[pointsCount];
             for (int i = 0; i < pointsCount; i++) {
-                if (!tokenizer.hasMoreTokens()) {
+                if (!reader.nextToken()) {
                     throw new RuntimeException("Ожидалась координата X точки " + i);
                 }
-                double x = Double.parseDouble(tokenizer.nextToken());
+                xValues[i] = reader.tokenAsDouble();
 
-                if (!tokenizer.hasMoreTokens()) {
+                if (!reader.nextToken()) {
                     throw new RuntimeException("Ожидалась координата Y точки " + i);
                 }
-                double y = Double.parseDouble(tokenizer.nextToken());
-
-                points[i] = new FunctionPoint(x, y);
+                yValues[i] = reader.tokenAsDouble();
             }
-            // Используем рефлексию для создания объекта
-            return createTabulatedFunction(clazz, points);
+            return new double[][] {xValues, yValues};
         }
         catch (IOException e) {
             throw new RuntimeException("Ошибка при чтении табулированной функции", e);
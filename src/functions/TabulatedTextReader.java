@@ -0,0 +1,219 @@
+package functions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+// Потоковый разбор текстового формата табулированной функции: лексемы, разделённые
+// пробельными символами (как у StringTokenizer), читаются из буфера фиксированного размера
+// без построчного чтения, поэтому объём памяти не зависит от количества точек.
+// Числа разбираются прямо из массива символов; строка создаётся только для чисел,
+// которые нельзя точно преобразовать быстрым способом
+final class TabulatedTextReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 13;
+    // Степени 10, точно представимые в double
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // Мантиссы до 2^53 представимы в double точно
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean started;
+    // Текущая лексема: tokenChars[tokenStart .. tokenEnd). Обычно это участок buffer;
+    // лексема, разорванная границей заполнения буфера, собирается в spill
+    private char[] tokenChars;
+    private int tokenStart;
+    private int tokenEnd;
+    private char[] spill = new char[32];
+
+    TabulatedTextReader(Reader in) {
+        this.in = in;
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = in.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        started = true;
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+    private static boolean isDelimiter(char c) {
+        return c <= ' ' && (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f');
+    }
+
+    // В источнике нет ни одного символа (проверяется до чтения первой лексемы)
+    boolean isEmpty() throws IOException {
+        if (!started) {
+            fill();
+        }
+        return limit == 0;
+    }
+
+    // Переходит к следующей лексеме; false, если лексем больше нет
+    boolean nextToken() throws IOException {
+        // Пропуск разделителей
+        while (true) {
+            if (position == limit && !fill()) {
+                return false;
+            }
+            if (!isDelimiter(buffer[position])) {
+                break;
+            }
+            position++;
+        }
+
+        int start = position;
+        while (position < limit && !isDelimiter(buffer[position])) {
+            position++;
+        }
+        if (position < limit) {
+            // Лексема целиком в буфере
+            tokenChars = buffer;
+            tokenStart = start;
+            tokenEnd = position;
+            return true;
+        }
+
+        // Лексема продолжается в следующем заполнении буфера
+        int length = 0;
+        while (true) {
+            int count = position - start;
+            if (length + count > spill.length) {
+                spill = Arrays.copyOf(spill, Math.max(2 * spill.length, length + count));
+            }
+            System.arraycopy(buffer, start, spill, length, count);
+            length += count;
+            if (position < limit || !fill()) {
+                break;
+            }
+            start = 0;
+            while (position < limit && !isDelimiter(buffer[position])) {
+                position++;
+            }
+        }
+        tokenChars = spill;
+        tokenStart = 0;
+        tokenEnd = length;
+        return true;
+    }
+
+    int tokenAsInt() {
+        char[] token = tokenChars;
+        int i = tokenStart;
+        int end = tokenEnd;
+        boolean negative = false;
+        if (token[i] == '-' || token[i] == '+') {
+            negative = token[i] == '-';
+            i++;
+        }
+        // Не больше 9 цифр - переполнение невозможно
+        if (i == end || end - i > 9) {
+            return Integer.parseInt(tokenString());
+        }
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = token[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(tokenString());
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    // Быстрый путь (алгоритм Клингера): если десятичная мантисса не больше 2^53,
+    // а показатель по модулю не больше 22, одно умножение или деление даёт
+    // правильно округлённый результат. Остальные числа разбирает Double.parseDouble
+    double tokenAsDouble() {
+        char[] token = tokenChars;
+        int i = tokenStart;
+        int end = tokenEnd;
+        boolean negative = false;
+        if (token[i] == '-' || token[i] == '+') {
+            negative = token[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int exponent = 0;
+        int digitsStart = i;
+        // Целая часть
+        for (; i < end && token[i] >= '0' && token[i] <= '9'; i++) {
+            mantissa = mantissa * 10 + (token[i] - '0');
+            if (mantissa > MAX_EXACT_MANTISSA) {
+                return Double.parseDouble(tokenString());
+            }
+        }
+        int digits = i - digitsStart;
+        // Дробная часть
+        if (i < end && token[i] == '.') {
+            int fractionStart = ++i;
+            for (; i < end && token[i] >= '0' && token[i] <= '9'; i++) {
+                mantissa = mantissa * 10 + (token[i] - '0');
+                if (mantissa > MAX_EXACT_MANTISSA) {
+                    return Double.parseDouble(tokenString());
+                }
+            }
+            exponent = fractionStart - i;
+            digits += i - fractionStart;
+        }
+        if (digits == 0) {
+            return Double.parseDouble(tokenString());
+        }
+        // Показатель степени
+        if (i < end && (token[i] == 'e' || token[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (token[i] == '-' || token[i] == '+')) {
+                negativeExponent = token[i] == '-';
+                i++;
+            }
+            int start = i;
+            int value = 0;
+            for (; i < end && token[i] >= '0' && token[i] <= '9' && i - start < 4; i++) {
+                value = value * 10 + (token[i] - '0');
+            }
+            if (i == start) {
+                return Double.parseDouble(tokenString());
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        // Прочие символы (NaN, Infinity, суффиксы d/f, шестнадцатеричная запись) - общий разбор
+        if (i != end) {
+            return Double.parseDouble(tokenString());
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0.0;
+        }
+        else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            value = mantissa * POWERS_OF_TEN[exponent];
+        }
+        else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        }
+        else {
+            return Double.parseDouble(tokenString());
+        }
+        return negative ? -value : value;
+    }
+
+    private String tokenString() {
+        return new String(tokenChars, tokenStart, tokenEnd - tokenStart);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
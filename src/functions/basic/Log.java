@@ -27,4 +27,22 @@ public class Log implements Function {
         }
         return Math.log(x) / Math.log(base); // Формула перехода к новому основанию
     }
+    @Override
+    public void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        double logBase = Math.log(base); // Логарифм основания вычисляется один раз на весь массив
+        for (int i = 0; i < length; i++) {
+            double x = xs[xsOffset + i];
+            out[outOffset + i] = x <= 0 ? Double.NaN : Math.log(x) / logBase;
+        }
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Double.compare(base, ((Log) o).base) == 0;
+    }
+    @Override
+    public int hashCode() {
+        return 31 * getClass().getName().hashCode() + Double.hashCode(base);
+    }
 }
@@ -5,4 +5,19 @@ public class Sin extends TrigonometricFunction {
     public double getFunctionValue(double x) {
         return Math.sin(x);
     }
-}
\ No newline at end of file
+    @Override
+    public void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] = Math.sin(xs[xsOffset + i]);
+        }
+    }
+    // Функция без параметров: равны все экземпляры одного класса
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+    @Override
+    public int hashCode() {
+        return getClass().getName().hashCode();
+    }
+}
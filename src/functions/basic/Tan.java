@@ -10,4 +10,21 @@ public class Tan extends TrigonometricFunction {
         }
         return Math.tan(x);
     }
-}
\ No newline at end of file
+    @Override
+    public void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        double epsilon = 1e-14;
+        for (int i = 0; i < length; i++) {
+            double x = xs[xsOffset + i];
+            out[outOffset + i] = Math.abs(Math.cos(x)) <= epsilon ? Double.NaN : Math.tan(x);
+        }
+    }
+    // Функция без параметров: равны все экземпляры одного класса
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o != null && getClass() == o.getClass());
+    }
+    @Override
+    public int hashCode() {
+        return getClass().getName().hashCode();
+    }
+}
@@ -0,0 +1,387 @@
+package functions.meta;
+
+import functions.Function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Дерево комбинаторов (Sum, Mult, Power, Scale, Shift, Composition), развёрнутое в линейную программу.
+// Команды работают с регистрами; регистр 0 - аргумент и результат. Листья (базовые и табулированные
+// функции) вызываются как есть. При компиляции:
+// - границы областей определения вычисляются один раз, а не рекурсивно при каждом вызове;
+// - проверка узла опускается, если её гарантирует проверка родителя (аргумент тот же, область родителя
+//   вложена в область узла: дети Sum, Mult, Power и Composition) или если область - вся прямая;
+// - цепочки Shift/Scale становятся последовательностью операций с константами над одним регистром;
+//   константы не объединяются, потому что (x + a) + b не всегда равно x + (a + b), а результаты
+//   должны совпадать побитово. Убираются умножение на 1 и прибавление -0.0;
+// - Power с показателем 1 убирается, с показателем 2 заменяется умножением (Math.pow(v, 2) == v * v).
+// Сообщения исключений совпадают с исходными комбинаторами.
+// Границы листьев запоминаются при компиляции: изменение табулированного листа после неё не учитывается
+public final class CompiledFunction implements Function {
+    // Коды команд; команда - четыре int: код, приёмник, источник, операнд
+    static final int CALL = 0; // r[t] = functions[k](r[s])
+    static final int ADD_CONSTANT = 1; // r[t] = r[s] + constants[k]
+    static final int MULTIPLY_CONSTANT = 2; // r[t] = r[s] * constants[k]
+    static final int ADD = 3; // r[t] = r[s] + r[t]
+    static final int MULTIPLY = 4; // r[t] = r[s] * r[t]
+    static final int POWER = 5; // r[t] = pow(r[s], constants[k])
+    static final int SQUARE = 6; // r[t] = r[s] * r[s]
+    static final int CHECK_ARGUMENT = 7; // r[s] в [constants[k], constants[k + 1]]
+    static final int CHECK_COMPOSITION_ARGUMENT = 8; // то же, сообщение Composition
+    static final int CHECK_INNER_VALUE = 9; // значение внутренней функции в области внешней
+    static final int FAIL_DISJOINT = 10; // области определения слагаемых (сомножителей) не пересекаются
+    static final int NO_CHECK = -1;
+
+    final int[] code;
+    final double[] constants;
+    final Function[] functions;
+    final int registerCount;
+    // Проверка аргумента корня (NO_CHECK для листа) и его область определения
+    final int rootCheck;
+    // Исходные комбинаторы бросают исключение и для пустого массива, если на пути
+    // вычисления есть Sum или Mult с непересекающимися областями
+    final boolean emptyInputFails;
+    private final double leftBorder;
+    private final double rightBorder;
+
+    private CompiledFunction(Compiler compiler, int rootCheck, double leftBorder, double rightBorder) {
+        this.code = Arrays.copyOf(compiler.code, compiler.size);
+        this.constants = Arrays.copyOf(compiler.constants, compiler.constantCount);
+        this.functions = compiler.functions.toArray(new Function[0]);
+        this.registerCount = compiler.maxRegister + 1;
+        this.rootCheck = rootCheck;
+        this.emptyInputFails = compiler.failsOnEmptyInput;
+        this.leftBorder = leftBorder;
+        this.rightBorder = rightBorder;
+    }
+
+    public static CompiledFunction compile(Function function) {
+        if (function instanceof CompiledFunction) {
+            return (CompiledFunction) function;
+        }
+        Compiler compiler = new Compiler();
+        double left = function.getLeftDomainBorder();
+        double right = function.getRightDomainBorder();
+        int rootCheck = compiler.checkKind(function, left, right);
+        compiler.compile(function, 0, 0, true);
+        compiler.failsOnEmptyInput = failsOnEmptyInput(function);
+        return new CompiledFunction(compiler, rootCheck, left, right);
+    }
+
+    // Пакетное вычисление пустого массива: Sum и Mult проверяют области и не вызывают слагаемые,
+    // остальные комбинаторы вызывают вложенные функции
+    private static boolean failsOnEmptyInput(Function node) {
+        if (node instanceof Sum || node instanceof Mult) {
+            return node.getLeftDomainBorder() > node.getRightDomainBorder();
+        }
+        if (node instanceof Power) {
+            return failsOnEmptyInput(((Power) node).getBase());
+        }
+        if (node instanceof Shift) {
+            return failsOnEmptyInput(((Shift) node).getF());
+        }
+        if (node instanceof Scale) {
+            return failsOnEmptyInput(((Scale) node).getF());
+        }
+        if (node instanceof Composition) {
+            return failsOnEmptyInput(((Composition) node).getInner()) || failsOnEmptyInput(((Composition) node).getOuter());
+        }
+        return false;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return leftBorder;
+    }
+    @Override
+    public double getRightDomainBorder() {
+        return rightBorder;
+    }
+    @Override
+    public double getFunctionValue(double x) {
+        check(rootCheck, x, leftBorder, rightBorder);
+        double[] r = new double[registerCount];
+        r[0] = x;
+        int[] code = this.code;
+        for (int pc = 0; pc < code.length; pc += 4) {
+            int t = code[pc + 1];
+            int s = code[pc + 2];
+            int k = code[pc + 3];
+            switch (code[pc]) {
+                case CALL:
+                    r[t] = functions[k].getFunctionValue(r[s]);
+                    break;
+                case ADD_CONSTANT:
+                    r[t] = r[s] + constants[k];
+                    break;
+                case MULTIPLY_CONSTANT:
+                    r[t] = r[s] * constants[k];
+                    break;
+                case ADD:
+                    r[t] = r[s] + r[t];
+                    break;
+                case MULTIPLY:
+                    r[t] = r[s] * r[t];
+                    break;
+                case POWER:
+                    r[t] = Math.pow(r[s], constants[k]);
+                    break;
+                case SQUARE:
+                    r[t] = r[s] * r[s];
+                    break;
+                default:
+                    check(code[pc], r[s], constants[k], constants[k + 1]);
+                    break;
+            }
+        }
+        return r[0];
+    }
+    @Override
+    public void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        if (length == 0 && emptyInputFails) {
+            check(FAIL_DISJOINT, 0.0, leftBorder, rightBorder);
+        }
+        // Как и у комбинаторов, все аргументы проверяются до вычислений
+        if (rootCheck != NO_CHECK) {
+            for (int i = 0; i < length; i++) {
+                check(rootCheck, xs[xsOffset + i], leftBorder, rightBorder);
+            }
+        }
+
+        ScratchBuffers scratch = ScratchBuffers.get();
+        double[][] r = new double[registerCount][];
+        for (int i = 0; i < registerCount; i++) {
+            r[i] = scratch.acquire();
+        }
+        try {
+            for (int done = 0; done < length; done += ScratchBuffers.BLOCK_SIZE) {
+                int count = Math.min(ScratchBuffers.BLOCK_SIZE, length - done);
+                System.arraycopy(xs, xsOffset + done, r[0], 0, count);
+                run(r, count);
+                System.arraycopy(r[0], 0, out, outOffset + done, count);
+            }
+        } finally {
+            for (int i = 0; i < registerCount; i++) {
+                scratch.release();
+            }
+        }
+    }
+    // Выполняет программу над блоком: каждая команда обрабатывает сразу count значений
+    private void run(double[][] r, int count) {
+        for (int pc = 0; pc < code.length; pc += 4) {
+            double[] t = r[code[pc + 1]];
+            double[] s = r[code[pc + 2]];
+            int k = code[pc + 3];
+            switch (code[pc]) {
+                case CALL:
+                    functions[k].evaluate(s, 0, t, 0, count);
+                    break;
+                case ADD_CONSTANT: {
+                    double c = constants[k];
+                    for (int i = 0; i < count; i++) {
+                        t[i] = s[i] + c;
+                    }
+                    break;
+                }
+                case MULTIPLY_CONSTANT: {
+                    double c = constants[k];
+                    for (int i = 0; i < count; i++) {
+                        t[i] = s[i] * c;
+                    }
+                    break;
+                }
+                case ADD:
+                    for (int i = 0; i < count; i++) {
+                        t[i] = s[i] + t[i];
+                    }
+                    break;
+                case MULTIPLY:
+                    for (int i = 0; i < count; i++) {
+                        t[i] = s[i] * t[i];
+                    }
+                    break;
+                case POWER: {
+                    double c = constants[k];
+                    for (int i = 0; i < count; i++) {
+                        t[i] = Math.pow(s[i], c);
+                    }
+                    break;
+                }
+                case SQUARE:
+                    for (int i = 0; i < count; i++) {
+                        t[i] = s[i] * s[i];
+                    }
+                    break;
+                default:
+                    for (int i = 0; i < count; i++) {
+                        check(code[pc], s[i], constants[k], constants[k + 1]);
+                    }
+                    break;
+            }
+        }
+    }
+
+    static void check(int kind, double value, double left, double right) {
+        switch (kind) {
+            case NO_CHECK:
+                return;
+            case FAIL_DISJOINT:
+                throw new IllegalArgumentException("Области определения функций не пересекаются");
+            case CHECK_ARGUMENT:
+                if (value < left || value > right) {
+                    throw new IllegalArgumentException("x находится вне области определения функции");
+                }
+                return;
+            case CHECK_COMPOSITION_ARGUMENT:
+                if (value < left || value > right) {
+                    throw new IllegalArgumentException("x = " + value + " находится вне области определения функции [" + left + ", " + right + "]");
+                }
+                return;
+            case CHECK_INNER_VALUE:
+                if (value < left || value > right) {
+                    throw new IllegalArgumentException("Значение " + value + " внутренней функции находится вне области определения внешней функции " +
+                            "[" + left + ", " + right + "]");
+                }
+                return;
+            default:
+                throw new IllegalStateException("Неизвестная команда: " + kind);
+        }
+    }
+
+    // Построение программы. compile(node, argument, target, checked) вычисляет node от регистра argument
+    // в регистр target; пишет только в target и во временные регистры выше занятых, поэтому argument
+    // не портится, если не совпадает с target. checked - аргумент уже проверен на область определения узла
+    private static final class Compiler {
+        private int[] code = new int[64];
+        private int size;
+        private double[] constants = new double[16];
+        private int constantCount;
+        private final List<Function> functions = new ArrayList<>();
+        private int nextRegister = 1;
+        private boolean failsOnEmptyInput;
+        private int maxRegister;
+
+        void compile(Function node, int argument, int target, boolean checked) {
+            double left = node.getLeftDomainBorder();
+            double right = node.getRightDomainBorder();
+            int kind = checkKind(node, left, right);
+            // NaN проходит любую проверку границ, поэтому непересекающиеся области проверяются всегда
+            if (kind != NO_CHECK && (!checked || kind == FAIL_DISJOINT)) {
+                emit(kind, 0, argument, constant(left, right));
+            }
+
+            if (node instanceof Sum || node instanceof Mult) {
+                Function f1 = node instanceof Sum ? ((Sum) node).getF1() : ((Mult) node).getF1();
+                Function f2 = node instanceof Sum ? ((Sum) node).getF2() : ((Mult) node).getF2();
+                // f1 вычисляется первой, как в Sum и Mult: исключения совпадают и поточечно, и блоками
+                int first = allocate();
+                compile(f1, argument, first, true);
+                compile(f2, argument, target, true);
+                emit(node instanceof Sum ? ADD : MULTIPLY, target, first, 0);
+                release(first);
+            }
+            else if (node instanceof Power) {
+                Power power = (Power) node;
+                compile(power.getBase(), argument, target, true);
+                if (power.getExponent() == 2.0) {
+                    emit(SQUARE, target, target, 0);
+                }
+                else if (power.getExponent() != 1.0) {
+                    emit(POWER, target, target, constant(power.getExponent()));
+                }
+            }
+            else if (node instanceof Shift) {
+                Shift shift = (Shift) node;
+                addConstant(target, argument, shift.getShiftX());
+                compile(shift.getF(), target, target, false);
+                addConstant(target, target, shift.getShiftY());
+            }
+            else if (node instanceof Scale) {
+                Scale scale = (Scale) node;
+                multiplyConstant(target, argument, scale.getScaleX());
+                compile(scale.getF(), target, target, false);
+                multiplyConstant(target, target, scale.getScaleY());
+            }
+            else if (node instanceof Composition) {
+                Composition composition = (Composition) node;
+                Function outer = composition.getOuter();
+                compile(composition.getInner(), argument, target, true);
+                double outerLeft = outer.getLeftDomainBorder();
+                double outerRight = outer.getRightDomainBorder();
+                if (outerLeft != Double.NEGATIVE_INFINITY || outerRight != Double.POSITIVE_INFINITY) {
+                    emit(CHECK_INNER_VALUE, 0, target, constant(outerLeft, outerRight));
+                }
+                compile(outer, target, target, true);
+            }
+            else {
+                emit(CALL, target, argument, leaf(node));
+            }
+        }
+
+        // Проверка, которую выполнил бы сам узел; NO_CHECK для листьев и для области во всю прямую
+        int checkKind(Function node, double left, double right) {
+            if (node instanceof Sum || node instanceof Mult) {
+                if (left > right) {
+                    return FAIL_DISJOINT;
+                }
+            }
+            else if (!(node instanceof Power || node instanceof Shift || node instanceof Scale || node instanceof Composition)) {
+                return NO_CHECK;
+            }
+            if (left == Double.NEGATIVE_INFINITY && right == Double.POSITIVE_INFINITY) {
+                return NO_CHECK;
+            }
+            return node instanceof Composition ? CHECK_COMPOSITION_ARGUMENT : CHECK_ARGUMENT;
+        }
+
+        // x + (-0.0) == x для любого x; прибавление +0.0 меняет -0.0 на 0.0, поэтому сохраняется
+        private void addConstant(int target, int source, double value) {
+            if (target != source || Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0.0)) {
+                emit(ADD_CONSTANT, target, source, constant(value));
+            }
+        }
+        private void multiplyConstant(int target, int source, double value) {
+            if (target != source || value != 1.0) {
+                emit(MULTIPLY_CONSTANT, target, source, constant(value));
+            }
+        }
+
+        // Один и тот же объект листа хранится один раз
+        private int leaf(Function function) {
+            for (int i = 0; i < functions.size(); i++) {
+                if (functions.get(i) == function) {
+                    return i;
+                }
+            }
+            functions.add(function);
+            return functions.size() - 1;
+        }
+        private int allocate() {
+            maxRegister = Math.max(maxRegister, nextRegister);
+            return nextRegister++;
+        }
+        private void release(int register) {
+            nextRegister = register;
+        }
+        private void emit(int operation, int target, int source, int operand) {
+            if (size + 4 > code.length) {
+                code = Arrays.copyOf(code, 2 * code.length);
+            }
+            code[size++] = operation;
+            code[size++] = target;
+            code[size++] = source;
+            code[size++] = operand;
+        }
+        private int constant(double... values) {
+            if (constantCount + values.length > constants.length) {
+                constants = Arrays.copyOf(constants, Math.max(2 * constants.length, constantCount + values.length));
+            }
+            int index = constantCount;
+            for (double value : values) {
+                constants[constantCount++] = value;
+            }
+            return index;
+        }
+    }
+}
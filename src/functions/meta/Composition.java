@@ -2,6 +2,8 @@ package functions.meta;
 
 import functions.Function;
 
+import java.util.Objects;
+
 public class Composition implements Function {
     private final Function outer; // внешняя функция
     private final Function inner; // внутренняя функция
@@ -11,6 +13,14 @@ public class Composition implements Function {
         this.inner = inner;
     }
 
+    // Доступ для CompiledFunction
+    Function getOuter() {
+        return outer;
+    }
+    Function getInner() {
+        return inner;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return inner.getLeftDomainBorder();
@@ -36,5 +46,40 @@ public class Composition implements Function {
         }
         return outer.getFunctionValue(innerValue);
     }
+    @Override
+    public void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        for (int i = 0; i < length; i++) {
+            double x = xs[xsOffset + i];
+            if (x < left || x > right) {
+                throw new IllegalArgumentException("x = " + x + " находится вне области определения функции [" + left + ", " + right + "]");
+            }
+        }
+
+        inner.evaluate(xs, xsOffset, out, outOffset, length);
+        double outerLeft = outer.getLeftDomainBorder();
+        double outerRight = outer.getRightDomainBorder();
+        for (int i = 0; i < length; i++) {
+            double innerValue = out[outOffset + i];
+            if (innerValue < outerLeft || innerValue > outerRight) {
+                throw new IllegalArgumentException("Значение " + innerValue + " внутренней функции находится вне области определения внешней функции " +
+                        "[" + outerLeft + ", " + outerRight + "]");
+            }
+        }
+        // Значения внутренней функции становятся аргументами внешней прямо в out
+        outer.evaluate(out, outOffset, out, outOffset, length);
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Composition that = (Composition) o;
+        return outer.equals(that.outer) && inner.equals(that.inner);
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass().getName(), outer, inner);
+    }
 }
 // h(x) = f(g(x))
\ No newline at end of file
@@ -0,0 +1,355 @@
+package functions.meta;
+
+import functions.Function;
+import functions.basic.Cos;
+import functions.basic.Exp;
+import functions.basic.Sin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+// Программа CompiledFunction, переведённая в байт-код скрытого класса (Lookup.defineHiddenClass).
+// Регистры становятся локальными переменными, команды - арифметикой над double и вызовами Math,
+// поэтому JIT компилирует всё выражение как один метод без виртуальных вызовов между узлами.
+// Sin, Cos и Exp заменяются вызовами Math; остальные листья вызываются через их собственный класс
+// (один получатель - JIT встраивает вызов), а если класс недоступен - через интерфейс Function.
+// Проверки областей определения те же, что у CompiledFunction, и выполняются через check,
+// поэтому в сгенерированном методе нет переходов и ему не нужна таблица StackMapTable.
+// Пакетное вычисление остаётся за программой: её проход блоками по командам быстрее
+// поточечного вызова сгенерированного метода. Скрытый класс выгружается вместе с последним экземпляром
+public abstract class GeneratedFunction implements Function {
+    private static final String CLASS_NAME = "functions/meta/GeneratedFunction$Expression";
+    private static final String SUPER_NAME = "functions/meta/GeneratedFunction";
+    private static final String FUNCTION_NAME = "functions/Function";
+    private static final String PROGRAM_DESCRIPTOR = "Lfunctions/meta/CompiledFunction;";
+    // Ограничение длины кода метода в формате class-файла
+    private static final int MAX_CODE_LENGTH = 65535;
+
+    final Function[] leaves;
+    private final CompiledFunction program;
+
+    protected GeneratedFunction(CompiledFunction program) {
+        this.leaves = program.functions;
+        this.program = program;
+    }
+
+    // Если программа не помещается в один метод, возвращается CompiledFunction
+    public static Function generate(Function function) {
+        CompiledFunction program = CompiledFunction.compile(function);
+        byte[] bytes = new Generator(program).generate();
+        if (bytes == null) {
+            return program;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            MethodHandle constructor = lookup.findConstructor(lookup.lookupClass(),
+                    MethodType.methodType(void.class, CompiledFunction.class));
+            return (Function) constructor.invoke(program);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Не удалось создать класс для функции", e);
+        }
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return program.getLeftDomainBorder();
+    }
+    @Override
+    public double getRightDomainBorder() {
+        return program.getRightDomainBorder();
+    }
+    @Override
+    public void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        program.evaluate(xs, xsOffset, out, outOffset, length);
+    }
+
+    // Проверка из сгенерированного кода: короткий метод встраивается JIT,
+    // сообщение исключения формирует CompiledFunction.check
+    static void check(int kind, double value, double left, double right) {
+        if (kind == CompiledFunction.FAIL_DISJOINT || value < left || value > right) {
+            CompiledFunction.check(kind, value, left, right);
+        }
+    }
+
+    // Построение class-файла: класс наследует GeneratedFunction и содержит конструктор
+    // и getFunctionValue (проверка аргумента корня, затем команды программы)
+    private static final class Generator {
+        private static final int ACC_PUBLIC = 0x0001;
+        private static final int ACC_FINAL = 0x0010;
+        private static final int ACC_SUPER = 0x0020;
+
+        private final CompiledFunction program;
+        private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+        private final DataOutputStream pool = new DataOutputStream(poolBytes);
+        private final Map<String, Integer> poolIndex = new HashMap<>();
+        private int poolCount = 1;
+
+        Generator(CompiledFunction program) {
+            this.program = program;
+        }
+
+        byte[] generate() {
+            try {
+                int thisClass = classEntry(CLASS_NAME);
+                int superClass = classEntry(SUPER_NAME);
+                byte[] constructor = constructor();
+                byte[] getFunctionValue = body();
+                if (getFunctionValue == null) {
+                    return null;
+                }
+                int codeName = utf8("Code");
+
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(52);
+                // Пул констант дописывается при построении методов, поэтому имена методов добавляются до записи пула
+                int constructorName = utf8("<init>");
+                int constructorDescriptor = utf8("(" + PROGRAM_DESCRIPTOR + ")V");
+                int getFunctionValueName = utf8("getFunctionValue");
+                int valueDescriptor = utf8("(D)D");
+                out.writeShort(poolCount);
+                pool.flush();
+                poolBytes.writeTo(out);
+                out.writeShort(ACC_FINAL | ACC_SUPER);
+                out.writeShort(thisClass);
+                out.writeShort(superClass);
+                out.writeShort(0); // интерфейсы (Function реализует суперкласс)
+                out.writeShort(0); // поля
+                out.writeShort(2);
+                writeMethod(out, ACC_PUBLIC, constructorName, constructorDescriptor, codeName, constructor, 2, 2);
+                int maxLocals = 1 + 2 * program.registerCount;
+                writeMethod(out, ACC_PUBLIC | ACC_FINAL, getFunctionValueName, valueDescriptor, codeName, getFunctionValue, 8, maxLocals);
+                out.writeShort(0); // атрибуты класса
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] constructor() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream code = new DataOutputStream(bytes);
+            code.writeByte(0x2a); // aload_0
+            code.writeByte(0x2b); // aload_1
+            code.writeByte(0xb7); // invokespecial
+            code.writeShort(memberEntry(10, SUPER_NAME, "<init>", "(" + PROGRAM_DESCRIPTOR + ")V"));
+            code.writeByte(0xb1); // return
+            return bytes.toByteArray();
+        }
+
+        // Регистр i хранится в локальной переменной 1 + 2 * i (регистр 0 - аргумент x)
+        private byte[] body() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream code = new DataOutputStream(bytes);
+            if (program.rootCheck != CompiledFunction.NO_CHECK) {
+                emitCheck(code, program.rootCheck, 0,
+                        program.getLeftDomainBorder(), program.getRightDomainBorder());
+            }
+            int[] program = this.program.code;
+            double[] constants = this.program.constants;
+            for (int pc = 0; pc < program.length; pc += 4) {
+                int t = program[pc + 1];
+                int s = program[pc + 2];
+                int k = program[pc + 3];
+                switch (program[pc]) {
+                    case CompiledFunction.CALL:
+                        emitCall(code, k, s);
+                        break;
+                    case CompiledFunction.ADD_CONSTANT:
+                        load(code, s);
+                        constant(code, constants[k]);
+                        code.writeByte(0x63); // dadd
+                        break;
+                    case CompiledFunction.MULTIPLY_CONSTANT:
+                        load(code, s);
+                        constant(code, constants[k]);
+                        code.writeByte(0x6b); // dmul
+                        break;
+                    case CompiledFunction.ADD:
+                        load(code, s);
+                        load(code, t);
+                        code.writeByte(0x63); // dadd
+                        break;
+                    case CompiledFunction.MULTIPLY:
+                        load(code, s);
+                        load(code, t);
+                        code.writeByte(0x6b); // dmul
+                        break;
+                    case CompiledFunction.POWER:
+                        load(code, s);
+                        constant(code, constants[k]);
+                        code.writeByte(0xb8); // invokestatic
+                        code.writeShort(memberEntry(10, "java/lang/Math", "pow", "(DD)D"));
+                        break;
+                    case CompiledFunction.SQUARE:
+                        load(code, s);
+                        code.writeByte(0x5c); // dup2
+                        code.writeByte(0x6b); // dmul
+                        break;
+                    default:
+                        emitCheck(code, program[pc], s, constants[k], constants[k + 1]);
+                        continue;
+                }
+                store(code, t);
+            }
+            load(code, 0);
+            code.writeByte(0xaf); // dreturn
+            return bytes.size() <= MAX_CODE_LENGTH ? bytes.toByteArray() : null;
+        }
+
+        private void emitCall(DataOutputStream code, int leaf, int source) throws IOException {
+            Function function = program.functions[leaf];
+            Class<?> type = function.getClass();
+            String math = type == Sin.class ? "sin" : type == Cos.class ? "cos" : type == Exp.class ? "exp" : null;
+            if (math != null) {
+                load(code, source);
+                code.writeByte(0xb8); // invokestatic
+                code.writeShort(memberEntry(10, "java/lang/Math", math, "(D)D"));
+                return;
+            }
+
+            code.writeByte(0x2a); // aload_0
+            code.writeByte(0xb4); // getfield
+            code.writeShort(memberEntry(9, SUPER_NAME, "leaves", "[L" + FUNCTION_NAME + ";"));
+            integer(code, leaf);
+            code.writeByte(0x32); // aaload
+            // Класс листа виден из этого пакета - вызов через него, иначе через интерфейс
+            if (Modifier.isPublic(type.getModifiers()) && !type.isHidden() && type.getEnclosingClass() == null
+                    && type.getClassLoader() == GeneratedFunction.class.getClassLoader()) {
+                String name = type.getName().replace('.', '/');
+                code.writeByte(0xc0); // checkcast
+                code.writeShort(classEntry(name));
+                load(code, source);
+                code.writeByte(0xb6); // invokevirtual
+                code.writeShort(memberEntry(10, name, "getFunctionValue", "(D)D"));
+            }
+            else {
+                load(code, source);
+                code.writeByte(0xb9); // invokeinterface
+                code.writeShort(memberEntry(11, FUNCTION_NAME, "getFunctionValue", "(D)D"));
+                code.writeByte(3);
+                code.writeByte(0);
+            }
+        }
+
+        private void emitCheck(DataOutputStream code, int kind, int register, double left, double right) throws IOException {
+            integer(code, kind);
+            load(code, register);
+            constant(code, left);
+            constant(code, right);
+            code.writeByte(0xb8); // invokestatic
+            code.writeShort(memberEntry(10, SUPER_NAME, "check", "(IDDD)V"));
+        }
+
+        private void load(DataOutputStream code, int register) throws IOException {
+            local(code, 0x18, register); // dload
+        }
+        private void store(DataOutputStream code, int register) throws IOException {
+            local(code, 0x39, register); // dstore
+        }
+        private void local(DataOutputStream code, int opcode, int register) throws IOException {
+            int slot = 1 + 2 * register;
+            if (slot <= 0xff) {
+                code.writeByte(opcode);
+                code.writeByte(slot);
+            }
+            else {
+                code.writeByte(0xc4); // wide
+                code.writeByte(opcode);
+                code.writeShort(slot);
+            }
+        }
+        private void constant(DataOutputStream code, double value) throws IOException {
+            code.writeByte(0x14); // ldc2_w
+            code.writeShort(doubleEntry(value));
+        }
+        private void integer(DataOutputStream code, int value) throws IOException {
+            code.writeByte(0x11); // sipush
+            code.writeShort(value);
+        }
+
+        private void writeMethod(DataOutputStream out, int access, int name, int descriptor, int codeName,
+                                 byte[] code, int maxStack, int maxLocals) throws IOException {
+            out.writeShort(access);
+            out.writeShort(name);
+            out.writeShort(descriptor);
+            out.writeShort(1);
+            out.writeShort(codeName);
+            out.writeInt(12 + code.length);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.length);
+            out.write(code);
+            out.writeShort(0); // таблица исключений
+            out.writeShort(0); // атрибуты кода
+        }
+
+        // Элементы пула констант; повторные обращения возвращают уже записанный индекс
+        private int utf8(String value) throws IOException {
+            Integer index = poolIndex.get("U" + value);
+            if (index == null) {
+                pool.writeByte(1);
+                pool.writeUTF(value);
+                index = poolCount++;
+                poolIndex.put("U" + value, index);
+            }
+            return index;
+        }
+        private int classEntry(String name) throws IOException {
+            Integer index = poolIndex.get("C" + name);
+            if (index == null) {
+                int nameIndex = utf8(name);
+                pool.writeByte(7);
+                pool.writeShort(nameIndex);
+                index = poolCount++;
+                poolIndex.put("C" + name, index);
+            }
+            return index;
+        }
+        // tag: 9 - поле, 10 - метод класса, 11 - метод интерфейса
+        private int memberEntry(int tag, String owner, String name, String descriptor) throws IOException {
+            String key = "M" + tag + owner + "." + name + descriptor;
+            Integer index = poolIndex.get(key);
+            if (index == null) {
+                int ownerIndex = classEntry(owner);
+                int nameIndex = utf8(name);
+                int descriptorIndex = utf8(descriptor);
+                pool.writeByte(12);
+                pool.writeShort(nameIndex);
+                pool.writeShort(descriptorIndex);
+                int nameAndType = poolCount++;
+                pool.writeByte(tag);
+                pool.writeShort(ownerIndex);
+                pool.writeShort(nameAndType);
+                index = poolCount++;
+                poolIndex.put(key, index);
+            }
+            return index;
+        }
+        private int doubleEntry(double value) throws IOException {
+            String key = "D" + Double.doubleToRawLongBits(value);
+            Integer index = poolIndex.get(key);
+            if (index == null) {
+                pool.writeByte(6);
+                pool.writeLong(Double.doubleToRawLongBits(value));
+                index = poolCount;
+                // double занимает два элемента пула
+                poolCount += 2;
+                poolIndex.put(key, index);
+            }
+            return index;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package functions.meta;
 
 import functions.Function;
 
+import java.util.Objects;
+
 public class Mult implements Function {
     private final Function f1;
     private final Function f2;
@@ -11,6 +13,14 @@ public class Mult implements Function {
         this.f2 = f2;
     }
 
+    // Доступ для CompiledFunction
+    Function getF1() {
+        return f1;
+    }
+    Function getF2() {
+        return f2;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return Math.max(f1.getLeftDomainBorder(), f2.getLeftDomainBorder());
@@ -32,5 +42,48 @@ public class Mult implements Function {
         }
         return f1.getFunctionValue(x) * f2.getFunctionValue(x);
     }
+    @Override
+    public void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+
+        if (left > right) {
+            throw new IllegalArgumentException("Области определения функций не пересекаются");
+        }
+        for (int i = 0; i < length; i++) {
+            double x = xs[xsOffset + i];
+            if (x < left || x > right) {
+                throw new IllegalArgumentException("x находится вне области определения функции");
+            }
+        }
+
+        // Значения f1 считаются блоками в буфер потока, значения f2 - сразу в out (out может совпадать с xs).
+        // Как и в getFunctionValue, f1 вычисляется первой, поэтому исключение то же, что при поточечном вызове
+        ScratchBuffers scratch = ScratchBuffers.get();
+        double[] buffer = scratch.acquire();
+        try {
+            for (int done = 0; done < length; done += ScratchBuffers.BLOCK_SIZE) {
+                int count = Math.min(ScratchBuffers.BLOCK_SIZE, length - done);
+                f1.evaluate(xs, xsOffset + done, buffer, 0, count);
+                f2.evaluate(xs, xsOffset + done, out, outOffset + done, count);
+                for (int i = 0; i < count; i++) {
+                    out[outOffset + done + i] = buffer[i] * out[outOffset + done + i];
+                }
+            }
+        } finally {
+            scratch.release();
+        }
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Mult that = (Mult) o;
+        return f1.equals(that.f1) && f2.equals(that.f2);
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass().getName(), f1, f2);
+    }
 }
 // h(x) = f(x) * g(x)
\ No newline at end of file
@@ -2,6 +2,8 @@ package functions.meta;
 
 import functions.Function;
 
+import java.util.Objects;
+
 public class Power implements Function {
     private final Function base; // функция основания
     private final double exponent; // функция показателя степени
@@ -11,6 +13,14 @@ public class Power implements Function {
         this.exponent = exponent;
     }
 
+    // Доступ для CompiledFunction
+    Function getBase() {
+        return base;
+    }
+    double getExponent() {
+        return exponent;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return base.getLeftDomainBorder();
@@ -26,5 +36,32 @@ public class Power implements Function {
         }
         return Math.pow(base.getFunctionValue(x), exponent);
     }
+    @Override
+    public void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        for (int i = 0; i < length; i++) {
+            double x = xs[xsOffset + i];
+            if (x < left || x > right) {
+                throw new IllegalArgumentException("x находится вне области определения функции");
+            }
+        }
+
+        base.evaluate(xs, xsOffset, out, outOffset, length);
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] = Math.pow(out[outOffset + i], exponent);
+        }
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Power that = (Power) o;
+        return Double.compare(exponent, that.exponent) == 0 && base.equals(that.base);
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass().getName(), base, exponent);
+    }
 }
 // h(x) = [f(x)]^g(x)
\ No newline at end of file
@@ -2,6 +2,8 @@ package functions.meta;
 
 import functions.Function;
 
+import java.util.Objects;
+
 public class Scale implements Function {
     private final Function f;
     private final double scaleX;
@@ -13,6 +15,17 @@ public class Scale implements Function {
         this.scaleY = scaleY;
     }
 
+    // Доступ для CompiledFunction
+    Function getF() {
+        return f;
+    }
+    double getScaleX() {
+        return scaleX;
+    }
+    double getScaleY() {
+        return scaleY;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         if (scaleX > 0) {
@@ -44,5 +57,34 @@ public class Scale implements Function {
         }
         return scaleY * f.getFunctionValue(x * scaleX);
     }
+    @Override
+    public void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        for (int i = 0; i < length; i++) {
+            double x = xs[xsOffset + i];
+            if (x < left || x > right) {
+                throw new IllegalArgumentException("x находится вне области определения функции");
+            }
+            out[outOffset + i] = x * scaleX;
+        }
+
+        // Аргументы уже лежат в out, функция вычисляется на месте
+        f.evaluate(out, outOffset, out, outOffset, length);
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] *= scaleY;
+        }
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Scale that = (Scale) o;
+        return Double.compare(scaleX, that.scaleX) == 0 && Double.compare(scaleY, that.scaleY) == 0 && f.equals(that.f);
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass().getName(), f, scaleX, scaleY);
+    }
 }
 // h(x) = k * f(m * x)
\ No newline at end of file
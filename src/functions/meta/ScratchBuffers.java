@@ -0,0 +1,39 @@
+package functions.meta;
+
+import java.util.Arrays;
+
+// Переиспользуемые буферы для пакетного вычисления комбинаторов.
+// Буферы свои у каждого потока и выдаются по глубине вложенности,
+// поэтому вложенные Sum/Mult не портят промежуточные значения друг друга.
+final class ScratchBuffers {
+    // Размер блока, которым комбинаторы обрабатывают длинные массивы
+    static final int BLOCK_SIZE = 1024;
+
+    private static final ThreadLocal<ScratchBuffers> LOCAL = ThreadLocal.withInitial(ScratchBuffers::new);
+
+    private double[][] buffers = new double[8][];
+    private int depth;
+
+    private ScratchBuffers() {
+    }
+
+    static ScratchBuffers get() {
+        return LOCAL.get();
+    }
+    // Выдаёт буфер длиной BLOCK_SIZE для текущего уровня вложенности
+    double[] acquire() {
+        if (depth == buffers.length) {
+            buffers = Arrays.copyOf(buffers, depth * 2);
+        }
+        double[] buffer = buffers[depth];
+        if (buffer == null) {
+            buffer = new double[BLOCK_SIZE];
+            buffers[depth] = buffer;
+        }
+        depth++;
+        return buffer;
+    }
+    void release() {
+        depth--;
+    }
+}
@@ -2,6 +2,8 @@ package functions.meta;
 
 import functions.Function;
 
+import java.util.Objects;
+
 public class Shift implements Function {
     private final Function f;
     private final double shiftX;
@@ -13,6 +15,17 @@ public class Shift implements Function {
         this.shiftY = shiftY;
     }
 
+    // Доступ для CompiledFunction
+    Function getF() {
+        return f;
+    }
+    double getShiftX() {
+        return shiftX;
+    }
+    double getShiftY() {
+        return shiftY;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return f.getLeftDomainBorder() - shiftX;
@@ -28,5 +41,34 @@ public class Shift implements Function {
         }
         return shiftY + f.getFunctionValue(x + shiftX);
     }
+    @Override
+    public void evaluate(double[] xs, int xsOffset, double[] out, int outOffset, int length) {
+        double left = getLeftDomainBorder();
+        double right = getRightDomainBorder();
+        for (int i = 0; i < length; i++) {
+            double x = xs[xsOffset + i];
+            if (x < left || x > right) {
+                throw new IllegalArgumentException("x находится вне области определения функции");
+            }
+            out[outOffset + i] = x + shiftX;
+        }
+
+        // Аргументы уже лежат в out, функция вычисляется на месте
+        f.evaluate(out, outOffset, out, outOffset, length);
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] += shiftY;
+        }
+    }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Shift that = (Shift) o;
+        return Double.compare(shiftX, that.shiftX) == 0 && Double.compare(shiftY, that.shiftY) == 0 && f.equals(that.f);
+    }
+    @Override
+    public int hashCode() {
+        return Objects.hash(getClass().getName(), f, shiftX, shiftY);
+    }
 }
 // h(x) = k + f(x + c)
\ No newline at end of file
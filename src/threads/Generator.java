@@ -6,12 +6,21 @@ import java.util.Random;
 
 public class Generator extends Thread {
     private final Task task;
-    private final Semaphore semaphore;
+    private final TaskSemaphore semaphore;
+    private final double tolerance; // Точность адаптивного интегрирования; 0 - интегрирование с шагом
     private final Random random = new Random();
 
-    public Generator(Task task, Semaphore semaphore) {
+    public Generator(Task task, TaskSemaphore semaphore) {
+        this(task, semaphore, 0);
+    }
+
+    public Generator(Task task, TaskSemaphore semaphore, double tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Точность не может быть отрицательной: " + tolerance);
+        }
         this.task = task;
         this.semaphore = semaphore;
+        this.tolerance = tolerance;
     }
 
     @Override
@@ -43,6 +52,7 @@ public class Generator extends Thread {
                     task.setRightBound(rightBound);
                     task.setDiscretizationStep(step);
                     task.setBase(base);
+                    task.setTolerance(tolerance);
 
                     synchronized (System.out) {
                         System.out.printf("Generator: создал задание %d\n", i + 1);
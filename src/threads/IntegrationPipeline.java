@@ -0,0 +1,135 @@
+package threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+
+// Конвейер заданий: N генераторов и M интеграторов, связанных ограниченной очередью.
+// Заполненная очередь блокирует генераторы (обратное давление), завершение интеграторов -
+// по «ядовитому» заданию, отдельно для каждого интегратора, либо по прерыванию
+public class IntegrationPipeline {
+    private static final IntegrationTask POISON_PILL = new IntegrationTask(-1, null, 0, 0, 0, 0, 0);
+
+    private final int producerCount;
+    private final int consumerCount;
+    private final int queueCapacity;
+    private final double tolerance;
+
+    public IntegrationPipeline(int producerCount, int consumerCount, int queueCapacity, double tolerance) {
+        if (producerCount < 1 || consumerCount < 1) {
+            throw new IllegalArgumentException("Нужен хотя бы один генератор и один интегратор");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Ёмкость очереди должна быть положительной: " + queueCapacity);
+        }
+        this.producerCount = producerCount;
+        this.consumerCount = consumerCount;
+        this.queueCapacity = queueCapacity;
+        this.tolerance = tolerance;
+    }
+
+    // Обрабатывает taskCount случайных заданий и возвращает статистику
+    public Statistics run(int taskCount) throws InterruptedException {
+        BlockingQueue<IntegrationTask> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger nextId = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        DoubleAdder checksum = new DoubleAdder();
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            producers.add(new Thread(() -> {
+                Random random = new Random();
+                try {
+                    int id;
+                    while ((id = nextId.getAndIncrement()) < taskCount) {
+                        queue.put(IntegrationTask.random(id, random, tolerance));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "pipeline-generator-" + p));
+        }
+
+        List<Thread> consumers = new ArrayList<>();
+        for (int c = 0; c < consumerCount; c++) {
+            consumers.add(new Thread(() -> {
+                try {
+                    while (true) {
+                        IntegrationTask task = queue.take();
+                        if (task == POISON_PILL) {
+                            return;
+                        }
+                        try {
+                            checksum.add(task.integrate());
+                            completed.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "pipeline-integrator-" + c));
+        }
+
+        long start = System.nanoTime();
+        producers.forEach(Thread::start);
+        consumers.forEach(Thread::start);
+        try {
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            // Все задания в очереди; каждому интегратору - своё «ядовитое» задание
+            for (int c = 0; c < consumerCount; c++) {
+                queue.put(POISON_PILL);
+            }
+            for (Thread consumer : consumers) {
+                consumer.join();
+            }
+        } catch (InterruptedException e) {
+            // Прерывание конвейера останавливает все его потоки
+            producers.forEach(Thread::interrupt);
+            consumers.forEach(Thread::interrupt);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        return new Statistics(completed.get(), failed.get(), elapsed, checksum.sum());
+    }
+
+    // Итоги работы конвейера
+    public static class Statistics {
+        private final int completed;
+        private final int failed;
+        private final long elapsedNanos;
+        private final double checksum;
+
+        Statistics(int completed, int failed, long elapsedNanos, double checksum) {
+            this.completed = completed;
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+            this.checksum = checksum;
+        }
+
+        public int getCompleted() { return completed; }
+        public int getFailed() { return failed; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public double getChecksum() { return checksum; }
+
+        // Пропускная способность в заданиях в секунду
+        public double getThroughput() {
+            return (completed + failed) / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("заданий: %d (ошибок: %d), время: %.3f с, %.1f заданий/с",
+                    completed + failed, failed, elapsedNanos / 1e9, getThroughput());
+        }
+    }
+}
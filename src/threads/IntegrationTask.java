@@ -0,0 +1,30 @@
+package threads;
+
+import functions.Function;
+import functions.Functions;
+import functions.basic.Log;
+
+import java.util.Random;
+
+// Неизменяемое задание на интегрирование: в отличие от Task его можно передавать
+// между потоками через очередь без дополнительной синхронизации
+public record IntegrationTask(int id, Function function, double leftBound, double rightBound,
+                              double discretizationStep, double base, double tolerance) {
+
+    // Случайное задание с теми же диапазонами параметров, что и у Generator
+    public static IntegrationTask random(int id, Random random, double tolerance) {
+        double base = 1 + random.nextDouble() * 9;
+        double leftBound = 1 + random.nextDouble() * 99;
+        double rightBound = 100 + random.nextDouble() * 100;
+        double step = 0.1 + random.nextDouble() * 0.9;
+        return new IntegrationTask(id, new Log(base), leftBound, rightBound, step, base, tolerance);
+    }
+
+    // Вычисление интеграла: адаптивно при положительной точности, иначе с фиксированным шагом
+    public double integrate() {
+        if (tolerance > 0) {
+            return Functions.integrateAdaptive(function, leftBound, rightBound, tolerance).getValue();
+        }
+        return Functions.integrate(function, leftBound, rightBound, discretizationStep);
+    }
+}
@@ -0,0 +1,150 @@
+package threads;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.ToDoubleFunction;
+
+// Исполнитель заданий на интегрирование: каждое задание - отдельная единица работы в пуле
+// платформенных потоков или в собственном виртуальном потоке (Java 21+).
+// Для каждого задания замеряется задержка от постановки до завершения
+public class IntegrationTaskRunner {
+    public enum Mode {
+        PLATFORM, // Фиксированный пул платформенных потоков
+        VIRTUAL   // Виртуальный поток на каждое задание
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() ищется во время выполнения,
+    // чтобы код собирался и на версиях Java без виртуальных потоков
+    private static final MethodHandle VIRTUAL_EXECUTOR_FACTORY = findVirtualExecutorFactory();
+
+    private final Mode mode;
+    private final int platformThreads;
+
+    public IntegrationTaskRunner(Mode mode, int platformThreads) {
+        if (mode == Mode.VIRTUAL && !isVirtualThreadsSupported()) {
+            throw new UnsupportedOperationException("Виртуальные потоки недоступны в Java " + Runtime.version().feature()
+                    + ", требуется Java 21+");
+        }
+        if (mode == Mode.PLATFORM && platformThreads < 1) {
+            throw new IllegalArgumentException("Количество потоков должно быть положительным: " + platformThreads);
+        }
+        this.mode = mode;
+        this.platformThreads = platformThreads;
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+
+    private static MethodHandle findVirtualExecutorFactory() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private ExecutorService createExecutor() {
+        if (mode == Mode.PLATFORM) {
+            return Executors.newFixedThreadPool(platformThreads);
+        }
+        try {
+            return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Не удалось создать исполнитель виртуальных потоков", e);
+        }
+    }
+
+    public Report run(List<IntegrationTask> tasks) throws InterruptedException {
+        return run(tasks, IntegrationTask::integrate);
+    }
+
+    // Выполняет все задания; work - тело задания (например, интегрирование с ожиданием ввода-вывода)
+    public Report run(List<IntegrationTask> tasks, ToDoubleFunction<IntegrationTask> work) throws InterruptedException {
+        int count = tasks.size();
+        long[] latencies = new long[count];
+        AtomicInteger failed = new AtomicInteger();
+        DoubleAdder checksum = new DoubleAdder();
+        CountDownLatch done = new CountDownLatch(count);
+
+        ExecutorService executor = createExecutor();
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                IntegrationTask task = tasks.get(i);
+                long submitted = System.nanoTime();
+                executor.execute(() -> {
+                    try {
+                        checksum.add(work.applyAsDouble(task));
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - submitted;
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Report(mode, latencies, failed.get(), elapsed, checksum.sum());
+    }
+
+    // Итоги прогона: пропускная способность и перцентили задержки
+    public static class Report {
+        private final Mode mode;
+        private final long[] sortedLatencies;
+        private final int failed;
+        private final long elapsedNanos;
+        private final double checksum;
+
+        Report(Mode mode, long[] latencies, int failed, long elapsedNanos, double checksum) {
+            this.mode = mode;
+            this.sortedLatencies = latencies.clone();
+            Arrays.sort(this.sortedLatencies);
+            this.failed = failed;
+            this.elapsedNanos = elapsedNanos;
+            this.checksum = checksum;
+        }
+
+        public Mode getMode() { return mode; }
+        public int getTaskCount() { return sortedLatencies.length; }
+        public int getFailed() { return failed; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        // Сумма результатов всех успешных заданий
+        public double getChecksum() { return checksum; }
+
+        public double getThroughput() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+        // Перцентиль задержки в наносекундах (метод ближайшего ранга), percentile в (0, 100]
+        public long getLatencyPercentile(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+            return sortedLatencies[Math.max(0, Math.min(rank, sortedLatencies.length) - 1)];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: заданий: %d (ошибок: %d), %.1f заданий/с, p50 = %.3f мс, p99 = %.3f мс",
+                    mode, sortedLatencies.length, failed, getThroughput(),
+                    getLatencyPercentile(50) / 1e6, getLatencyPercentile(99) / 1e6);
+        }
+    }
+}
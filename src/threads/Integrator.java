@@ -2,12 +2,13 @@ package threads;
 
 import functions.Function;
 import functions.Functions;
+import functions.IntegrationResult;
 
 public class Integrator extends Thread {
     private final Task task;
-    private final Semaphore semaphore;
+    private final TaskSemaphore semaphore;
 
-    public Integrator(Task task, Semaphore semaphore) {
+    public Integrator(Task task, TaskSemaphore semaphore) {
         this.task = task;
         this.semaphore = semaphore;
     }
@@ -27,7 +28,7 @@ public class Integrator extends Thread {
                 // Ждем, пока появится задание
                 semaphore.waitForGenerator();
 
-                double leftBound, rightBound, step, base;
+                double leftBound, rightBound, step, base, tolerance;
                 Function function;
 
                 // Блокируем чтение
@@ -38,6 +39,7 @@ public class Integrator extends Thread {
                     rightBound = task.getRightBound();
                     step = task.getDiscretizationStep();
                     base = task.getBase();
+                    tolerance = task.getTolerance();
                 } finally {
                     semaphore.endRead();
                 }
@@ -48,12 +50,24 @@ public class Integrator extends Thread {
                 }
 
                 try {
-                    // Вычисляем интеграл
-                    double integralResult = Functions.integrate(function, leftBound, rightBound, step);
+                    if (tolerance > 0) {
+                        // Адаптивное интегрирование с заданной точностью вместо фиксированного шага
+                        IntegrationResult result = Functions.integrateAdaptive(function, leftBound, rightBound, tolerance);
 
-                    synchronized (System.out) {
-                        System.out.printf("%3d | %9.3f | %5.1f | %6.1f | %5.3f | %11.6f\n",
-                                i + 1, base, leftBound, rightBound, step, integralResult);
+                        synchronized (System.out) {
+                            System.out.printf("%3d | %9.3f | %5.1f | %6.1f | %5.0e | %11.6f | %5d выч. | погр. %.1e\n",
+                                    i + 1, base, leftBound, rightBound, tolerance, result.getValue(),
+                                    result.getEvaluations(), result.getErrorEstimate());
+                        }
+                    }
+                    else {
+                        // Вычисляем интеграл
+                        double integralResult = Functions.integrate(function, leftBound, rightBound, step);
+
+                        synchronized (System.out) {
+                            System.out.printf("%3d | %9.3f | %5.1f | %6.1f | %5.3f | %11.6f\n",
+                                    i + 1, base, leftBound, rightBound, step, integralResult);
+                        }
                     }
                 } catch (IllegalArgumentException e) {
                     synchronized (System.out) {
@@ -0,0 +1,172 @@
+package threads;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Реализация TaskSemaphore на атомарных переменных и LockSupport.park/unpark.
+// Вместо notifyAll() будится только тот, кто может продолжить работу:
+// после записи - ожидающий писатель или все ожидающие читатели, после последнего чтения - один писатель
+public class LockFreeSemaphore implements TaskSemaphore {
+    private static final int WRITER = -1;
+
+    // > 0 - количество читателей, 0 - свободно, WRITER - захвачено писателем
+    private final AtomicInteger state = new AtomicInteger();
+    // Ожидающие писатели блокируют новых читателей (приоритет записи, как в Semaphore)
+    private final AtomicInteger writeRequests = new AtomicInteger();
+    private final Queue<Thread> waitingReaders = new ConcurrentLinkedQueue<>();
+    private final Queue<Thread> waitingWriters = new ConcurrentLinkedQueue<>();
+
+    // Флаги и потоки для координации генератора и интегратора
+    private volatile boolean taskReady = false;
+    private volatile boolean generatorWaiting = false;
+    private volatile Thread generatorThread;
+    private volatile Thread integratorThread;
+
+    @Override
+    public void beginRead() throws InterruptedException {
+        if (tryBeginRead()) {
+            return;
+        }
+        Thread current = Thread.currentThread();
+        // Поток встаёт в очередь до повторной проверки, поэтому освобождение между
+        // проверкой и park() не теряется: unpark() оставит разрешение
+        waitingReaders.add(current);
+        try {
+            while (!tryBeginRead()) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            waitingReaders.remove(current);
+        }
+    }
+
+    private boolean tryBeginRead() {
+        while (true) {
+            int current = state.get();
+            if (current == WRITER || writeRequests.get() > 0) {
+                return false;
+            }
+            if (state.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void endRead() {
+        if (state.decrementAndGet() == 0) {
+            wakeWriter();
+        }
+    }
+
+    @Override
+    public void beginWrite() throws InterruptedException {
+        writeRequests.incrementAndGet();
+        boolean acquired = false;
+        try {
+            if (state.compareAndSet(0, WRITER)) {
+                acquired = true;
+                return;
+            }
+            Thread current = Thread.currentThread();
+            waitingWriters.add(current);
+            try {
+                while (!state.compareAndSet(0, WRITER)) {
+                    LockSupport.park(this);
+                    if (Thread.interrupted()) {
+                        // Освобождение могло прийти одновременно с прерыванием: последняя попытка захвата
+                        if (state.compareAndSet(0, WRITER)) {
+                            current.interrupt();
+                            break;
+                        }
+                        throw new InterruptedException();
+                    }
+                }
+                acquired = true;
+            } finally {
+                waitingWriters.remove(current);
+            }
+        } finally {
+            int remaining = writeRequests.decrementAndGet();
+            if (!acquired) {
+                // Прерванный писатель мог забрать пробуждение, адресованное ему как первому в очереди:
+                // если он был последним, отпускаем заблокированных читателей, иначе при свободном
+                // замке будим следующего писателя
+                if (remaining == 0) {
+                    wakeReaders();
+                }
+                else if (state.get() == 0) {
+                    wakeWriter();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void endWrite() {
+        state.set(0);
+        if (!wakeWriter()) {
+            wakeReaders();
+        }
+    }
+
+    private boolean wakeWriter() {
+        Thread writer = waitingWriters.peek();
+        if (writer == null) {
+            return false;
+        }
+        LockSupport.unpark(writer);
+        return true;
+    }
+
+    private void wakeReaders() {
+        for (Thread reader : waitingReaders) {
+            LockSupport.unpark(reader);
+        }
+    }
+
+    // Методы для координации между генератором и интегратором
+
+    @Override
+    public void waitForIntegrator() throws InterruptedException {
+        generatorThread = Thread.currentThread();
+        generatorWaiting = true;
+        while (generatorWaiting && taskReady) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        generatorWaiting = false;
+    }
+
+    @Override
+    public void waitForGenerator() throws InterruptedException {
+        integratorThread = Thread.currentThread();
+        while (!taskReady) {
+            LockSupport.park(this);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public void signalGenerator() {
+        generatorWaiting = false;
+        LockSupport.unpark(generatorThread);
+    }
+
+    @Override
+    public void setTaskReady(boolean ready) {
+        taskReady = ready;
+        if (ready) {
+            LockSupport.unpark(integratorThread); // Будим только интегратор
+        }
+    }
+}
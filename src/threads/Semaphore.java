@@ -1,6 +1,6 @@
 package threads;
 
-public class Semaphore {
+public class Semaphore implements TaskSemaphore {
     private int readers = 0;
     private int writers = 0;
     private int writeRequests = 0;
@@ -10,6 +10,7 @@ public class Semaphore {
     private boolean generatorWaiting = false;
     private boolean integratorWaiting = false;
 
+    @Override
     public synchronized void beginRead() throws InterruptedException {
         while (writers > 0 || writeRequests > 0) {
             wait();
@@ -17,11 +18,13 @@ public class Semaphore {
         readers++;
     }
 
+    @Override
     public synchronized void endRead() {
         readers--;
         notifyAll();
     }
 
+    @Override
     public synchronized void beginWrite() throws InterruptedException {
         writeRequests++;
         while (readers > 0 || writers > 0) {
@@ -31,6 +34,7 @@ public class Semaphore {
         writers++;
     }
 
+    @Override
     public synchronized void endWrite() {
         writers--;
         notifyAll();
@@ -38,14 +42,19 @@ public class Semaphore {
 
     // Методы для координации между генератором и интегратором
 
+    @Override
     public synchronized void waitForIntegrator() throws InterruptedException {
         generatorWaiting = true;
         notifyAll();
-        while (generatorWaiting) {
+        // Ждём, пока интегратор не снимет флаг готовности задания: сигнал, пришедший
+        // раньше начала ожидания, не теряется
+        while (generatorWaiting && taskReady) {
             wait();
         }
+        generatorWaiting = false;
     }
 
+    @Override
     public synchronized void waitForGenerator() throws InterruptedException {
         integratorWaiting = true;
         notifyAll();
@@ -55,13 +64,13 @@ public class Semaphore {
         integratorWaiting = false;
     }
 
+    @Override
     public synchronized void signalGenerator() {
-        if (generatorWaiting) {
-            generatorWaiting = false;
-            notifyAll();
-        }
+        generatorWaiting = false;
+        notifyAll();
     }
 
+    @Override
     public synchronized void setTaskReady(boolean ready) {
         taskReady = ready;
         if (ready) {
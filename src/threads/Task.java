@@ -9,6 +9,7 @@ public class Task {
     private double discretizationStep;
     private int taskCount;
     private double base;
+    private double tolerance; // Точность адаптивного интегрирования; 0 - интегрирование с шагом
 
     // Конструктор, геттеры и сеттеры...
     public Task() {}
@@ -30,4 +31,7 @@ public class Task {
 
     public double getBase() { return base; }
     public void setBase(double base) { this.base = base; }
+
+    public double getTolerance() { return tolerance; }
+    public void setTolerance(double tolerance) { this.tolerance = tolerance; }
 }
@@ -0,0 +1,18 @@
+package threads;
+
+// Контракт координации Generator и Integrator: блокировка чтения/записи общего Task
+// и передача задания от генератора интегратору
+public interface TaskSemaphore {
+    void beginRead() throws InterruptedException;
+    void endRead();
+    void beginWrite() throws InterruptedException;
+    void endWrite();
+
+    // Генератор ждёт, пока интегратор не обработает задание
+    void waitForIntegrator() throws InterruptedException;
+    // Интегратор ждёт, пока генератор не подготовит задание
+    void waitForGenerator() throws InterruptedException;
+    // Интегратор сообщает генератору, что задание обработано
+    void signalGenerator();
+    void setTaskReady(boolean ready);
+}